@@ -0,0 +1,54 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.PageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the keyset cursor round trip and the page assembly done by every paginated list endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaginationBenchmark {
+
+    private static final int LIMIT = 50;
+
+    private final LocalDateTime startTime = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+    private String timeEntryCursor;
+    private List<Long> rows;
+
+    @Setup
+    public void setUp() {
+        timeEntryCursor = Pagination.encodeTimeEntry(startTime, 123_456L);
+        rows = new ArrayList<>(LIMIT + 1);
+        for (long id = 1; id <= LIMIT + 1; id++) {
+            rows.add(id);
+        }
+    }
+
+    @Benchmark
+    public String encodeTimeEntryCursor() {
+        return Pagination.encodeTimeEntry(startTime, 123_456L);
+    }
+
+    @Benchmark
+    public Pagination.TimeEntryCursor decodeTimeEntryCursor() {
+        return Pagination.decodeTimeEntry(timeEntryCursor);
+    }
+
+    @Benchmark
+    public PageResponse<Long> toPage() {
+        return Pagination.toPage(rows, LIMIT, id -> id, Pagination::encodeId);
+    }
+}
@@ -0,0 +1,104 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.ProjectResponse;
+import cl.pablovillarroel.timetracker.dto.TaskResponse;
+import cl.pablovillarroel.timetracker.dto.TimeEntryResponse;
+import cl.pablovillarroel.timetracker.model.Project;
+import cl.pablovillarroel.timetracker.model.Task;
+import cl.pablovillarroel.timetracker.model.TimeEntry;
+import cl.pablovillarroel.timetracker.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity to DTO mappers run for every row a list endpoint returns,
+ * one entity at a time and for a full default page of 50.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMapperBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ProjectService projectService;
+    private TaskService taskService;
+    private TimeEntryService timeEntryService;
+
+    private Project project;
+    private Task task;
+    private List<TimeEntry> timeEntries;
+
+    @Setup
+    public void setUp() {
+        // The mappers only read the entity graph, so the services need no repositories
+        projectService = new ProjectService(null, null, null, null);
+        taskService = new TaskService(null, null, null, null);
+        timeEntryService = new TimeEntryService(null, null, null, null, null, null, null);
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 9, 0);
+        User user = User.builder().id(1L).email("benchmark@timetracker.test").name("Benchmark").build();
+        project = Project.builder()
+                .id(10L)
+                .user(user)
+                .name("Benchmark project")
+                .hourlyCost(new BigDecimal("45.50"))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        task = Task.builder()
+                .id(100L)
+                .project(project)
+                .name("Benchmark task")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        timeEntries = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            timeEntries.add(TimeEntry.builder()
+                    .id(1000L + i)
+                    .task(task)
+                    .user(user)
+                    .startTime(now.plusHours(i))
+                    .endTime(now.plusHours(i).plusMinutes(45))
+                    .duration(2700L)
+                    .cost(new BigDecimal("34.13"))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public ProjectResponse mapProject() {
+        return projectService.mapToResponse(project);
+    }
+
+    @Benchmark
+    public TaskResponse mapTask() {
+        return taskService.mapToResponse(task);
+    }
+
+    @Benchmark
+    public TimeEntryResponse mapTimeEntry() {
+        return timeEntryService.mapToResponse(timeEntries.get(0));
+    }
+
+    @Benchmark
+    public void mapTimeEntryPage(Blackhole blackhole) {
+        for (TimeEntry timeEntry : timeEntries) {
+            blackhole.consume(timeEntryService.mapToResponse(timeEntry));
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package cl.pablovillarroel.timetracker.loadtest;
+
+import cl.pablovillarroel.timetracker.TimetrackerApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end throughput benchmark of the REST API. Boots the application against {@link LoadTestPostgres},
+ * seeds one account per client with projects, tasks and a year of time entries, then has every client run a
+ * weighted mix of scenarios for a warmup and a measured window.
+ *
+ * <p>Reports per scenario the throughput, p50/p99/p999 latency, errors, and the SQL statements a single request
+ * issues, measured separately with one client through Hibernate statistics.
+ *
+ * <p>Run with {@code ./gradlew apiLoadTest}. Tune with {@code loadtest.clients}, {@code loadtest.warmup-seconds},
+ * {@code loadtest.duration-seconds}, {@code loadtest.entries-per-user} and {@code loadtest.virtual-threads}.
+ */
+public final class ApiLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+    private static final int ENTRIES_PER_USER = Integer.getInteger("loadtest.entries-per-user", 2000);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("loadtest.virtual-threads");
+
+    private static final int PROJECTS_PER_USER = 3;
+    private static final int TASKS_PER_PROJECT = 4;
+    private static final int BATCH_SIZE = 1000;
+    private static final int PROFILE_REQUESTS = 20;
+    private static final String PASSWORD = "loadtest-password";
+    private static final LocalDate SEED_END = LocalDate.of(2025, 12, 31);
+
+    private ApiLoadTest() {
+    }
+
+    enum Scenario {
+        LOGIN(5),
+        START_STOP_TIMER(15),
+        LIST_ENTRIES(40),
+        PROJECT_RANGE(20),
+        REPORT(20);
+
+        private final int weight;
+
+        Scenario(int weight) {
+            this.weight = weight;
+        }
+
+        static Scenario pick(int roll) {
+            for (Scenario scenario : values()) {
+                if (roll < scenario.weight) {
+                    return scenario;
+                }
+                roll -= scenario.weight;
+            }
+            throw new IllegalArgumentException("Roll out of range");
+        }
+    }
+
+    record Account(String email, String token, List<Long> projectIds, List<Long> taskIds) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (LoadTestPostgres postgres = LoadTestPostgres.start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(TimetrackerApplication.class)
+                     .properties(postgres.datasourceProperties().toArray(String[]::new))
+                     .properties(
+                             "server.port=0",
+                             "spring.main.banner-mode=off",
+                             "spring.threads.virtual.enabled=" + VIRTUAL_THREADS,
+                             "spring.jpa.properties.hibernate.generate_statistics=true",
+                             "login.rate-limit.enabled=false",
+                             "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN")
+                     .run()) {
+
+            ApiClient client = new ApiClient("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            long seedStartedAt = System.nanoTime();
+            List<Account> accounts = seed(client);
+            System.out.printf("Seeded %d users with %d time entries each in %d s%n",
+                    accounts.size(), ENTRIES_PER_USER, Duration.ofNanos(System.nanoTime() - seedStartedAt).toSeconds());
+
+            Map<Scenario, Double> statementsPerRequest = profileStatements(client, accounts.get(0), statistics);
+
+            drive(client, accounts, WARMUP);
+            Map<Scenario, LatencySamples> samples = drive(client, accounts, MEASUREMENT);
+
+            report(samples, statementsPerRequest);
+        }
+    }
+
+    private static List<Account> seed(ApiClient client) throws Exception {
+        List<Future<Account>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < CLIENTS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> seedAccount(client, index)));
+            }
+        }
+
+        List<Account> accounts = new ArrayList<>();
+        for (Future<Account> future : futures) {
+            accounts.add(future.get());
+        }
+        return accounts;
+    }
+
+    private static Account seedAccount(ApiClient client, int index) throws Exception {
+        String email = "loadtest-" + index + "-" + System.nanoTime() + "@timetracker.test";
+        client.post("/api/users", null,
+                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\",\"name\":\"Load test " + index + "\"}");
+        String token = login(client, email);
+
+        List<Long> projectIds = new ArrayList<>();
+        List<Long> taskIds = new ArrayList<>();
+        for (int p = 0; p < PROJECTS_PER_USER; p++) {
+            long projectId = client.post("/api/projects", token,
+                    "{\"name\":\"Project " + p + "\",\"hourlyCost\":" + (40 + p * 15) + ".00}").get("id").asLong();
+            projectIds.add(projectId);
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                taskIds.add(client.post("/api/tasks", token,
+                        "{\"projectId\":" + projectId + ",\"name\":\"Task " + t + "\"}").get("id").asLong());
+            }
+        }
+
+        // Entries spread over the year before SEED_END, between 15 minutes and 4 hours long, at working hours
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime first = SEED_END.minusDays(365).atStartOfDay();
+        for (int offset = 0; offset < ENTRIES_PER_USER; offset += BATCH_SIZE) {
+            StringBuilder batch = new StringBuilder("{\"entries\":[");
+            int end = Math.min(offset + BATCH_SIZE, ENTRIES_PER_USER);
+            for (int i = offset; i < end; i++) {
+                LocalDateTime start = first.plusDays(i * 365L / ENTRIES_PER_USER).plusHours(8 + random.nextInt(9)).plusMinutes(random.nextInt(60));
+                int minutes = 15 + random.nextInt(226);
+                batch.append(i > offset ? "," : "")
+                        .append("{\"taskId\":").append(taskIds.get(random.nextInt(taskIds.size())))
+                        .append(",\"startTime\":\"").append(start)
+                        .append("\",\"endTime\":\"").append(start.plusMinutes(minutes))
+                        .append("\",\"duration\":").append(minutes * 60)
+                        .append(",\"cost\":").append(minutes).append(".00}");
+            }
+            client.post("/api/time-entries/batch", token, batch.append("]}").toString());
+        }
+
+        return new Account(email, token, projectIds, taskIds);
+    }
+
+    private static String login(ApiClient client, String email) throws Exception {
+        JsonNode response = client.post("/api/auth/login", null,
+                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}");
+        return response.get("token").asString();
+    }
+
+    /**
+     * Runs every scenario a few times with a single client and divides the statements Hibernate prepared by the
+     * number of requests sent. Done on its own because the statistics are global to the application.
+     */
+    private static Map<Scenario, Double> profileStatements(ApiClient client, Account account, Statistics statistics) throws Exception {
+        Map<Scenario, Double> statementsPerRequest = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            LatencySamples samples = new LatencySamples();
+            long before = statistics.getPrepareStatementCount();
+            for (int i = 0; i < PROFILE_REQUESTS; i++) {
+                run(client, account, scenario, samples);
+            }
+            long statements = statistics.getPrepareStatementCount() - before;
+            statementsPerRequest.put(scenario, (double) statements / samples.count());
+        }
+        return statementsPerRequest;
+    }
+
+    private static Map<Scenario, LatencySamples> drive(ApiClient client, List<Account> accounts, Duration window) throws Exception {
+        long deadline = System.nanoTime() + window.toNanos();
+        List<Future<Map<Scenario, LatencySamples>>> workers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Account account : accounts) {
+                workers.add(executor.submit(() -> {
+                    Map<Scenario, LatencySamples> samples = emptySamples();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Scenario scenario = Scenario.pick(random.nextInt(100));
+                        run(client, account, scenario, samples.get(scenario));
+                    }
+                    return samples;
+                }));
+            }
+        }
+
+        Map<Scenario, LatencySamples> all = emptySamples();
+        for (Future<Map<Scenario, LatencySamples>> worker : workers) {
+            worker.get().forEach((scenario, samples) -> all.get(scenario).addAll(samples));
+        }
+        return all;
+    }
+
+    /**
+     * Sends the requests of one scenario, recording each request's latency.
+     */
+    private static void run(ApiClient client, Account account, Scenario scenario, LatencySamples samples) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = account.token();
+        switch (scenario) {
+            case LOGIN -> timed(client, samples, client.postRequest("/api/auth/login", null,
+                    "{\"email\":\"" + account.email() + "\",\"password\":\"" + PASSWORD + "\"}"));
+            case START_STOP_TIMER -> {
+                long taskId = account.taskIds().get(random.nextInt(account.taskIds().size()));
+                timed(client, samples, client.postRequest("/api/time-entries/start", token, "{\"taskId\":" + taskId + "}"));
+                timed(client, samples, client.postRequest("/api/time-entries/stop", token, ""));
+            }
+            case LIST_ENTRIES -> timed(client, samples, client.getRequest("/api/time-entries?limit=50", token));
+            case PROJECT_RANGE -> {
+                long projectId = account.projectIds().get(random.nextInt(account.projectIds().size()));
+                LocalDateTime start = SEED_END.minusDays(30 + random.nextInt(300)).atStartOfDay();
+                timed(client, samples, client.getRequest("/api/time-entries/project/" + projectId + "/range?startDate=" + start
+                        + "&endDate=" + start.plusDays(30) + "&limit=50", token));
+            }
+            case REPORT -> {
+                String granularity = random.nextBoolean() ? "WEEK" : "MONTH";
+                timed(client, samples, client.getRequest("/api/reports/time?startDate=" + SEED_END.minusDays(365)
+                        + "&endDate=" + SEED_END + "&granularity=" + granularity, token));
+            }
+        }
+    }
+
+    private static void timed(ApiClient client, LatencySamples samples, HttpRequest request) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        int status = client.send(request);
+        samples.add(System.nanoTime() - startedAt, status >= 200 && status < 400);
+    }
+
+    private static Map<Scenario, LatencySamples> emptySamples() {
+        Map<Scenario, LatencySamples> samples = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            samples.put(scenario, new LatencySamples());
+        }
+        return samples;
+    }
+
+    private static void report(Map<Scenario, LatencySamples> samples, Map<Scenario, Double> statementsPerRequest) {
+        double seconds = MEASUREMENT.toMillis() / 1000.0;
+        LatencySamples total = new LatencySamples();
+
+        System.out.printf("%n%d clients, %s threads, %d s measured%n", CLIENTS, VIRTUAL_THREADS ? "virtual" : "platform", MEASUREMENT.toSeconds());
+        System.out.printf("%-18s %9s %10s %9s %9s %9s %8s %10s%n", "scenario", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors", "sql/req");
+        for (Scenario scenario : Scenario.values()) {
+            LatencySamples scenarioSamples = samples.get(scenario);
+            total.addAll(scenarioSamples);
+            System.out.printf("%-18s %9d %10.1f %9.2f %9.2f %9.2f %8d %10.1f%n",
+                    scenario, scenarioSamples.count(), scenarioSamples.count() / seconds,
+                    scenarioSamples.percentileMs(0.50), scenarioSamples.percentileMs(0.99), scenarioSamples.percentileMs(0.999),
+                    scenarioSamples.errors(), statementsPerRequest.get(scenario));
+        }
+        System.out.printf("%-18s %9d %10.1f %9.2f %9.2f %9.2f %8d%n",
+                "TOTAL", total.count(), total.count() / seconds,
+                total.percentileMs(0.50), total.percentileMs(0.99), total.percentileMs(0.999), total.errors());
+    }
+}
@@ -0,0 +1,54 @@
+package cl.pablovillarroel.timetracker.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of request latencies with an error count. Not thread safe: each client records into its own
+ * instance and the instances are merged once the run is over.
+ */
+final class LatencySamples {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+
+    void add(long latencyNanos, boolean success) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void addAll(LatencySamples other) {
+        if (size + other.size > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(size + other.size, latencies.length * 2));
+        }
+        System.arraycopy(other.latencies, 0, latencies, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * @return the latency at the given percentile (0.99 for p99) in milliseconds, by the nearest-rank method
+     */
+    double percentileMs(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,61 @@
+package cl.pablovillarroel.timetracker.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Database for the load tests. Starts an embedded Postgres from the binaries bundled with the
+ * embedded-postgres artifact, so no network or local installation is needed; set {@code loadtest.jdbc-url}
+ * (with {@code loadtest.jdbc-username} and {@code loadtest.jdbc-password}) to use an already running server.
+ * Flyway migrates the schema when the application boots.
+ */
+final class LoadTestPostgres implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    private LoadTestPostgres(EmbeddedPostgres embedded, String jdbcUrl, String username, String password) {
+        this.embedded = embedded;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    static LoadTestPostgres start() throws IOException {
+        String externalUrl = System.getProperty("loadtest.jdbc-url");
+        if (externalUrl != null) {
+            return new LoadTestPostgres(null, externalUrl,
+                    System.getProperty("loadtest.jdbc-username", "timetracker_user"),
+                    System.getProperty("loadtest.jdbc-password", "timetracker_pass"));
+        }
+
+        EmbeddedPostgres embedded = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "200")
+                .start();
+        return new LoadTestPostgres(embedded, embedded.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                "postgres", "postgres");
+    }
+
+    /**
+     * Application properties pointing the datasource at this database.
+     */
+    List<String> datasourceProperties() {
+        List<String> properties = new ArrayList<>();
+        properties.add("spring.datasource.url=" + jdbcUrl);
+        properties.add("spring.datasource.username=" + username);
+        properties.add("spring.datasource.password=" + password);
+        return properties;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package cl.pablovillarroel.timetracker.loadtest;
+
+import cl.pablovillarroel.timetracker.TimetrackerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares request throughput and latency percentiles with MVC requests served on the Tomcat platform-thread
+ * pool and on virtual threads. Each mode boots the application on a random port against {@link LoadTestPostgres},
+ * seeds one user, then drives a fixed number of concurrent clients through a read-heavy mix for a warmup and a
+ * measured window.
+ *
+ * <p>Run with {@code ./gradlew threadModeBenchmark}; tune with the {@code loadtest.*} system properties.
+ */
+public final class ThreadModeBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+    private static final int SEED_ENTRIES = Integer.getInteger("loadtest.seed-entries", 1000);
+
+    private ThreadModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Result> results = new ArrayList<>();
+        try (LoadTestPostgres postgres = LoadTestPostgres.start()) {
+            for (boolean virtualThreads : new boolean[] {false, true}) {
+                results.add(run(postgres, virtualThreads));
+            }
+        }
+
+        System.out.printf("%n%-10s %8s %12s %10s %10s %10s %8s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+        for (Result result : results) {
+            LatencySamples samples = result.samples();
+            System.out.printf("%-10s %8d %12.1f %10.2f %10.2f %10.2f %8d%n",
+                    result.mode(), CLIENTS, samples.count() / (MEASUREMENT.toMillis() / 1000.0),
+                    samples.percentileMs(0.50), samples.percentileMs(0.99), samples.percentileMs(0.999), samples.errors());
+        }
+    }
+
+    private static Result run(LoadTestPostgres postgres, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TimetrackerApplication.class)
+                .properties(postgres.datasourceProperties().toArray(String[]::new))
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.main.banner-mode=off")
+                .run()) {
+
+            ApiClient client = new ApiClient("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            String token = seed(client);
+            List<HttpRequest> requests = List.of(
+                    client.getRequest("/api/time-entries?limit=50", token),
+                    client.getRequest("/api/reports/time?startDate=2025-01-01&endDate=2025-12-31&granularity=WEEK", token),
+                    client.getRequest("/api/projects/my-projects", token));
+
+            drive(client, requests, WARMUP);
+            return new Result(virtualThreads ? "virtual" : "platform", drive(client, requests, MEASUREMENT));
+        }
+    }
+
+    private static LatencySamples drive(ApiClient client, List<HttpRequest> requests, Duration window) throws Exception {
+        long deadline = System.nanoTime() + window.toNanos();
+        List<Future<LatencySamples>> workers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                int offset = i;
+                workers.add(executor.submit(() -> {
+                    LatencySamples samples = new LatencySamples();
+                    int next = offset;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.get(next++ % requests.size());
+                        long startedAt = System.nanoTime();
+                        int status = client.send(request);
+                        samples.add(System.nanoTime() - startedAt, status >= 200 && status < 400);
+                    }
+                    return samples;
+                }));
+            }
+        }
+
+        LatencySamples all = new LatencySamples();
+        for (Future<LatencySamples> worker : workers) {
+            all.addAll(worker.get());
+        }
+        return all;
+    }
+
+    private static String seed(ApiClient client) throws Exception {
+        String email = "loadtest-" + System.nanoTime() + "@timetracker.test";
+        String password = "loadtest-password";
+
+        client.post("/api/users", null,
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\",\"name\":\"Load test\"}");
+        String token = client.post("/api/auth/login", null,
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}").get("token").asString();
+
+        long projectId = client.post("/api/projects", token,
+                "{\"name\":\"Load test project\",\"hourlyCost\":50.00}").get("id").asLong();
+        long taskId = client.post("/api/tasks", token,
+                "{\"projectId\":" + projectId + ",\"name\":\"Load test task\"}").get("id").asLong();
+
+        StringBuilder batch = new StringBuilder("{\"entries\":[");
+        LocalDateTime start = LocalDate.of(2025, 1, 1).atTime(9, 0);
+        for (int i = 0; i < SEED_ENTRIES; i++) {
+            LocalDateTime entryStart = start.plusHours(i * 6L);
+            batch.append(i > 0 ? "," : "")
+                    .append("{\"taskId\":").append(taskId)
+                    .append(",\"startTime\":\"").append(entryStart)
+                    .append("\",\"endTime\":\"").append(entryStart.plusMinutes(45))
+                    .append("\",\"duration\":2700,\"cost\":37.50}");
+        }
+        client.post("/api/time-entries/batch", token, batch.append("]}").toString());
+
+        return token;
+    }
+
+    private record Result(String mode, LatencySamples samples) {
+    }
+}
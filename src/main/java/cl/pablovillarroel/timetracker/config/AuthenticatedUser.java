@@ -0,0 +1,15 @@
+package cl.pablovillarroel.timetracker.config;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal stored in the security context for the duration of a request.
+ * Built from the JWT claims so controllers and services get the user id without a database lookup.
+ */
+public record AuthenticatedUser(Long id, String email) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
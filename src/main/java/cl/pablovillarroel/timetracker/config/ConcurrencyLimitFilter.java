@@ -0,0 +1,95 @@
+package cl.pablovillarroel.timetracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests in flight. With virtual threads nothing else bounds concurrency, so without a cap
+ * a burst would queue thousands of requests on the JDBC pool and fail them with connection timeouts; here the
+ * excess waits briefly and is then rejected with 503.
+ * With concurrency.limit.max-in-flight at 0 the limit is sized to the JDBC pool on virtual threads and disabled on
+ * platform threads, whose pool already bounds concurrency.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public ConcurrencyLimitFilter(
+            @Value("${concurrency.limit.max-in-flight:0}") int maxInFlight,
+            @Value("${concurrency.limit.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${concurrency.limit.requests-per-connection:2}") int requestsPerConnection,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        int limit = maxInFlight > 0 ? maxInFlight : virtualThreads ? poolSize * requestsPerConnection : 0;
+        this.permits = limit > 0 ? new Semaphore(limit, true) : null;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return permits == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+
+        String timestamp = LocalDateTime.now().format(FORMATTER);
+        String jsonResponse = String.format(
+                "{\"status\":%d,\"error\":\"%s\",\"code\":\"%s\",\"message\":\"%s\",\"timestamp\":\"%s\"}",
+                HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                "Service Unavailable",
+                "SERVER_BUSY",
+                "The server is busy, please retry shortly",
+                timestamp
+        );
+
+        PrintWriter writer = response.getWriter();
+        writer.write(jsonResponse);
+        writer.flush();
+    }
+}
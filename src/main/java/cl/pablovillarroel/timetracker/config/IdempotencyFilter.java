@@ -0,0 +1,241 @@
+package cl.pablovillarroel.timetracker.config;
+
+import cl.pablovillarroel.timetracker.service.IdempotencyService;
+import cl.pablovillarroel.timetracker.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Makes retried POSTs to the timer and time entry creation endpoints safe. The first request with a given
+ * Idempotency-Key header runs normally and its response is stored; a retry with the same key and body gets that
+ * response back without reaching the controller. Server errors are not stored, so they can be retried.
+ * The body is buffered to be hashed, so bodies above idempotency.max-body-bytes are refused with 413 up front.
+ *
+ * <p>Registered with the default order, which places it after the Spring Security chain so the user is known.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> PATHS = Set.of(
+            "/api/time-entries",
+            "/api/time-entries/start",
+            "/api/time-entries/stop",
+            "/api/time-entries/batch");
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final IdempotencyService idempotencyService;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService,
+                             @Value("${idempotency.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.idempotencyService = idempotencyService;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(KEY_HEADER) == null
+                || !PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, "Bad Request", "INVALID_IDEMPOTENCY_KEY",
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // The declared length rejects most oversized bodies unread; the capped read catches chunked ones
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            writeBodyTooLarge(response);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            writeBodyTooLarge(response);
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String requestHash = hash(request.getRequestURI(), cachedRequest.body);
+
+        StoredResponse stored = idempotencyService.findCompleted(user.id(), key);
+        if (stored == null && !idempotencyService.claim(user.id(), key, requestHash)) {
+            stored = idempotencyService.findCompleted(user.id(), key);
+            if (stored == null) {
+                writeError(response, HttpServletResponse.SC_CONFLICT, "Conflict", "IDEMPOTENCY_KEY_IN_PROGRESS",
+                        "A request with this Idempotency-Key is still being processed");
+                return;
+            }
+        }
+
+        if (stored != null) {
+            replay(stored, requestHash, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            idempotencyService.release(user.id(), key);
+            throw ex;
+        }
+
+        if (cachedResponse.getStatus() >= 500) {
+            idempotencyService.release(user.id(), key);
+        } else {
+            idempotencyService.complete(user.id(), key, new StoredResponse(
+                    requestHash, cachedResponse.getStatus(), cachedResponse.getContentType(), cachedResponse.getContentAsByteArray()));
+        }
+        cachedResponse.copyBodyToResponse();
+    }
+
+    private void replay(StoredResponse stored, String requestHash, HttpServletResponse response) throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            writeError(response, 422, "Unprocessable Content", "IDEMPOTENCY_KEY_REUSED",
+                    "Idempotency-Key was already used for a different request");
+            return;
+        }
+
+        response.setStatus(stored.statusCode());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+        response.flushBuffer();
+    }
+
+    private String hash(String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(path.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private void writeBodyTooLarge(HttpServletResponse response) throws IOException {
+        writeError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "Content Too Large", "REQUEST_BODY_TOO_LARGE",
+                "Requests with an Idempotency-Key must not exceed " + maxBodyBytes + " bytes");
+    }
+
+    private void writeError(HttpServletResponse response, int status, String error, String code, String message) throws IOException {
+        response.setContentType("application/json");
+        response.setStatus(status);
+
+        String timestamp = LocalDateTime.now().format(FORMATTER);
+        String jsonResponse = String.format(
+                "{\"status\":%d,\"error\":\"%s\",\"code\":\"%s\",\"message\":\"%s\",\"timestamp\":\"%s\"}",
+                status,
+                error,
+                code,
+                message,
+                timestamp
+        );
+
+        PrintWriter writer = response.getWriter();
+        writer.write(jsonResponse);
+        writer.flush();
+    }
+
+    /**
+     * Serves a body read up front, so it can be hashed and still be read by the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is already in memory, so it is all available at once
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
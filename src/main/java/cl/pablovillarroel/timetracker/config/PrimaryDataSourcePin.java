@@ -0,0 +1,54 @@
+package cl.pablovillarroel.timetracker.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the current thread, typically one HTTP request, to the primary database so its read-only transactions see
+ * writes the replica may not have applied yet. Set by {@link ReadYourWritesFilter}; code that needs a fresh read
+ * runs it through {@link #callOnPrimary}.
+ *
+ * <p>The pin is consulted when a transaction first needs a connection, so it has no effect on a transaction that
+ * has already run a statement on the replica.
+ */
+public final class PrimaryDataSourcePin {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryDataSourcePin() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    /**
+     * Runs the action pinned to the primary and restores the previous state afterwards, so it can be nested inside
+     * a request that is already pinned.
+     */
+    public static <T> T callOnPrimary(Supplier<T> action) {
+        boolean wasPinned = isPinned();
+        pin();
+        try {
+            return action.get();
+        } finally {
+            if (!wasPinned) {
+                unpin();
+            }
+        }
+    }
+
+    public static void runOnPrimary(Runnable action) {
+        callOnPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
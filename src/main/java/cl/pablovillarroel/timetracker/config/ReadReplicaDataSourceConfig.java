@@ -0,0 +1,74 @@
+package cl.pablovillarroel.timetracker.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with a primary and a replica pool when replica.datasource.url is set; without
+ * it the application runs on the primary alone, as before. The primary is configured from spring.datasource.*, the
+ * replica from replica.datasource.*, falling back to the primary's credentials.
+ *
+ * <p>Neither pool is exposed as a bean: the only DataSource in the context is the routing proxy, so JPA, Flyway and
+ * the health check all see the primary unless they run inside a read-only transaction. Both pools start lazily,
+ * so a replica that is down at startup does not keep the application from starting.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.datasource.url")
+public class ReadReplicaDataSourceConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(Environment environment, MeterRegistry meterRegistry,
+                                 @Value("${replica.retry-after-ms:30000}") long retryAfterMs) {
+        HikariDataSource primary = pool(environment, meterRegistry, "spring.datasource", "primary");
+        HikariDataSource replica = pool(environment, meterRegistry, "replica.datasource", "replica");
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, retryAfterMs));
+        // Known up front, so the proxy never has to borrow a connection just to learn them
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(Environment environment, MeterRegistry meterRegistry, String prefix, String poolName) {
+        Binder binder = Binder.get(environment);
+        HikariConfig config = new HikariConfig();
+        binder.bind(prefix + ".hikari", Bindable.ofInstance(config));
+
+        config.setPoolName(poolName);
+        config.setJdbcUrl(binder.bind(prefix + ".url", String.class).get());
+        config.setUsername(binder.bind(prefix + ".username", String.class)
+                .orElseGet(() -> environment.getProperty("spring.datasource.username")));
+        config.setPassword(binder.bind(prefix + ".password", String.class)
+                .orElseGet(() -> environment.getProperty("spring.datasource.password")));
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        // The no-argument constructor starts the pool on the first getConnection instead of here
+        HikariDataSource pool = new HikariDataSource();
+        config.copyStateTo(pool);
+        pools.add(pool);
+        return pool;
+    }
+}
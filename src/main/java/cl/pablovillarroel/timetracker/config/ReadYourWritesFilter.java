@@ -0,0 +1,69 @@
+package cl.pablovillarroel.timetracker.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Gives users read-your-writes consistency while reads are served by the replica. Write requests, and every request
+ * from a user for a short window after one of their writes succeeded, are pinned to the primary; a client that stops
+ * its timer and immediately lists its time entries therefore sees the stopped entry even if the replica lags.
+ *
+ * <p>The window is tracked per node, so it only covers replication lag when a user's requests reach the same node.
+ * Ordered just ahead of {@link IdempotencyFilter}, whose lookups must not read a stale replica either, and after the
+ * Spring Security chain so the user is known.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "replica.datasource.url")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(@Value("${replica.read-your-writes-window-ms:5000}") long windowMs,
+                                @Value("${replica.read-your-writes-max-users:100000}") long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(windowMs))
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user ? user.id() : null;
+        boolean write = !READ_METHODS.contains(request.getMethod());
+
+        if (write || (userId != null && recentWriters.getIfPresent(userId) != null)) {
+            PrimaryDataSourcePin.pin();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryDataSourcePin.unpin();
+        }
+
+        if (write && userId != null && response.getStatus() < 400) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package cl.pablovillarroel.timetracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands read-only transactions a connection to the read replica and everything else a connection to the primary.
+ * Threads pinned through {@link PrimaryDataSourcePin} always get the primary, so they read their own writes.
+ *
+ * <p>The read-only flag is only published once the transaction has begun, so this must sit behind a
+ * LazyConnectionDataSourceProxy that defers fetching the connection until the first statement. When the replica
+ * cannot hand out a connection, reads go to the primary and the replica is not tried again until the retry delay
+ * has passed, so an outage costs one connection timeout rather than one per request.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryAfterMs;
+
+    private volatile long replicaDownUntil;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long retryAfterMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routesToReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException ex) {
+                markReplicaDown(ex);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (routesToReplica()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException ex) {
+                markReplicaDown(ex);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    boolean routesToReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PrimaryDataSourcePin.isPinned()
+                && System.currentTimeMillis() >= replicaDownUntil;
+    }
+
+    private void markReplicaDown(SQLException ex) {
+        replicaDownUntil = System.currentTimeMillis() + retryAfterMs;
+        log.warn("Read replica unavailable, sending reads to the primary for the next {} ms: {}", retryAfterMs, ex.getMessage());
+    }
+}
@@ -0,0 +1,40 @@
+package cl.pablovillarroel.timetracker.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time spent executing JDBC statements and batches to the current {@link SqlRequestStats}.
+ * Hibernate creates one instance per session; registered through hibernate.session.events.auto.
+ */
+public class SqlExecutionTimingListener implements SessionEventListener {
+
+    private long statementStartedAt;
+    private long batchStartedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStartedAt);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStartedAt);
+    }
+
+    private static void record(long startedAt) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.recordExecution(System.nanoTime() - startedAt);
+        }
+    }
+}
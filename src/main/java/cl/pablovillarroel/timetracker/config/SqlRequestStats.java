@@ -0,0 +1,63 @@
+package cl.pablovillarroel.timetracker.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SQL statements issued and JDBC execution time accumulated on the current thread, typically one HTTP request.
+ * Fed by {@link SqlStatementCountingInspector} and {@link SqlExecutionTimingListener}; nothing is recorded on
+ * threads where no collection was started.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+    private int statementCount;
+    private long executionNanos;
+
+    private SqlRequestStats() {
+    }
+
+    /**
+     * Starts collecting on the current thread, replacing any collection already in progress.
+     */
+    public static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql) {
+        statementCount++;
+        countsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void recordExecution(long nanos) {
+        executionNanos += nanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getExecutionTimeMillis() {
+        return executionNanos / 1_000_000;
+    }
+
+    /**
+     * @return the statement issued most often and how many times, the usual fingerprint of an N+1
+     */
+    public Optional<Map.Entry<String, Integer>> getMostRepeatedStatement() {
+        return countsBySql.entrySet().stream().max(Map.Entry.comparingByValue());
+    }
+}
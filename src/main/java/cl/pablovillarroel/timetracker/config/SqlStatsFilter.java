@@ -0,0 +1,103 @@
+package cl.pablovillarroel.timetracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the SQL statements and JDBC time of each request. Reports them in the X-SQL-Count and X-SQL-Time-Ms
+ * response headers and the http.server.requests.sql.* metrics, and logs requests that exceed the statement
+ * threshold or repeat one statement too often, the usual sign of an N+1.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int statementThreshold;
+    private final int repeatedStatementThreshold;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry,
+                          @Value("${sql-stats.enabled:true}") boolean enabled,
+                          @Value("${sql-stats.statement-threshold:20}") int statementThreshold,
+                          @Value("${sql-stats.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.statementThreshold = statementThreshold;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlRequestStats stats = SqlRequestStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.stop();
+            // Responses with a body got their headers from SqlStatsResponseAdvice before being committed
+            if (!response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            record(request, response, stats);
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, SqlRequestStats stats) {
+        response.setHeader(COUNT_HEADER, String.valueOf(stats.getStatementCount()));
+        response.setHeader(TIME_HEADER, String.valueOf(stats.getExecutionTimeMillis()));
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements issued per HTTP request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder("http.server.requests.sql.time")
+                .description("JDBC execution time per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getExecutionTimeMillis(), TimeUnit.MILLISECONDS);
+
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement().orElse(null);
+        boolean overThreshold = stats.getStatementCount() > statementThreshold;
+        boolean repeatedTooOften = repeated != null && repeated.getValue() >= repeatedStatementThreshold;
+        if (overThreshold || repeatedTooOften) {
+            log.warn("{} {} ({}) issued {} SQL statements in {} ms; most repeated ({} times): {}",
+                    method, request.getRequestURI(), response.getStatus(), stats.getStatementCount(),
+                    stats.getExecutionTimeMillis(), repeated.getValue(), repeated.getKey());
+        }
+    }
+}
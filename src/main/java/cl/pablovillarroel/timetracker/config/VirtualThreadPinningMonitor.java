@@ -0,0 +1,113 @@
+package cl.pablovillarroel.timetracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically while blocking inside a
+ * synchronized block or a native frame, using the JFR jdk.VirtualThreadPinned event.
+ * The first occurrence of each stack is logged with its frames; repeats are only counted, in the
+ * jvm.threads.virtual.pinned meter.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_LOGGED_FRAMES = 20;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinnedByStack = new ConcurrentHashMap<>();
+    private final Counter pinnedEvents;
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning-monitor.enabled:true}") boolean enabled,
+            @Value("${virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMs) {
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.pinnedEvents = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier for longer than the reporting threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        RecordingStream recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::record);
+        recordingStream.startAsync();
+        stream = recordingStream;
+
+        log.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recordingStream = stream;
+        stream = null;
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public long getPinnedEventCount() {
+        return (long) pinnedEvents.count();
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedEvents.increment();
+
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String stack = frames.stream()
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+
+        LongAdder occurrences = pinnedByStack.computeIfAbsent(stack, key -> new LongAdder());
+        occurrences.increment();
+
+        if (occurrences.sum() == 1) {
+            log.warn("Virtual thread pinned its carrier for {} ms\n\tat {}", event.getDuration().toMillis(), stack);
+        } else {
+            log.debug("Virtual thread pinned its carrier for {} ms ({} times at this stack)",
+                    event.getDuration().toMillis(), occurrences.sum());
+        }
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.size() > MAX_LOGGED_FRAMES ? frames.subList(0, MAX_LOGGED_FRAMES) : frames;
+    }
+}
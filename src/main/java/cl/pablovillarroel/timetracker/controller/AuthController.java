@@ -2,11 +2,14 @@ package cl.pablovillarroel.timetracker.controller;
 
 import cl.pablovillarroel.timetracker.dto.LoginRequest;
 import cl.pablovillarroel.timetracker.dto.LoginResponse;
+import cl.pablovillarroel.timetracker.exception.BusinessException;
 import cl.pablovillarroel.timetracker.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,9 +22,20 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/login")
-    @Operation(summary = "User login", description = "Authenticate user and return JWT token")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        LoginResponse response = authService.login(request);
+    @Operation(summary = "User login", description = "Authenticate user and return JWT token; attempts are rate limited per client IP and per email")
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        LoginResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "User logout", description = "Revoke the bearer token sent with the request")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new BusinessException("INVALID_TOKEN", "A bearer token is required");
+        }
+
+        authService.logout(authorization.substring(7));
+        return ResponseEntity.noContent().build();
+    }
 }
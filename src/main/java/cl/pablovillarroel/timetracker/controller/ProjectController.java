@@ -1,5 +1,8 @@
 package cl.pablovillarroel.timetracker.controller;
 
+import cl.pablovillarroel.timetracker.config.AuthenticatedUser;
+import cl.pablovillarroel.timetracker.dto.CollectionVersion;
+import cl.pablovillarroel.timetracker.dto.PageResponse;
 import cl.pablovillarroel.timetracker.dto.ProjectRequest;
 import cl.pablovillarroel.timetracker.dto.ProjectResponse;
 import cl.pablovillarroel.timetracker.service.ProjectService;
@@ -7,12 +10,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -23,42 +26,46 @@ public class ProjectController {
     private final ProjectService projectService;
 
     @GetMapping("/my-projects")
-    @Operation(summary = "Get my projects", description = "Retrieve all projects belonging to the authenticated user")
-    public ResponseEntity<List<ProjectResponse>> getMyProjects(Authentication authentication) {
-        String email = authentication.getName();
-        List<ProjectResponse> response = projectService.getProjectsByUserEmail(email);
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get my projects", description = "Retrieve a page of projects belonging to the authenticated user; answers 304 when If-None-Match matches the current ETag")
+    public ResponseEntity<PageResponse<ProjectResponse>> getMyProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest) {
+        CollectionVersion version = projectService.getProjectsVersion(user.id());
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        PageResponse<ProjectResponse> response = projectService.getProjectsByUserId(user.id(), cursor, limit);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(response);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get project by ID", description = "Retrieve a specific project by its ID")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id, Authentication authentication) {
-        String email = authentication.getName();
-        ProjectResponse response = projectService.getProjectById(id, email);
+    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        ProjectResponse response = projectService.getProjectById(id, user.id());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping
     @Operation(summary = "Create project", description = "Create a new project for the authenticated user")
-    public ResponseEntity<ProjectResponse> createProject(Authentication authentication, @Valid @RequestBody ProjectRequest request) {
-        String email = authentication.getName();
-        ProjectResponse response = projectService.createProject(email, request);
+    public ResponseEntity<ProjectResponse> createProject(@AuthenticationPrincipal AuthenticatedUser user, @Valid @RequestBody ProjectRequest request) {
+        ProjectResponse response = projectService.createProject(user.id(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update project", description = "Update an existing project")
-    public ResponseEntity<ProjectResponse> updateProject(@PathVariable Long id, @Valid @RequestBody ProjectRequest request, Authentication authentication) {
-        String email = authentication.getName();
-        ProjectResponse response = projectService.updateProject(id, request, email);
+    public ResponseEntity<ProjectResponse> updateProject(@PathVariable Long id, @Valid @RequestBody ProjectRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        ProjectResponse response = projectService.updateProject(id, request, user.id());
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete project", description = "Delete a project by its ID")
-    public ResponseEntity<Void> deleteProject(@PathVariable Long id, Authentication authentication) {
-        String email = authentication.getName();
-        projectService.deleteProject(id, email);
+    public ResponseEntity<Void> deleteProject(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        projectService.deleteProject(id, user.id());
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,35 @@
+package cl.pablovillarroel.timetracker.controller;
+
+import cl.pablovillarroel.timetracker.config.AuthenticatedUser;
+import cl.pablovillarroel.timetracker.dto.ReportGranularity;
+import cl.pablovillarroel.timetracker.dto.TimeReportResponse;
+import cl.pablovillarroel.timetracker.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "Aggregated time and cost reports")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @GetMapping("/time")
+    @Operation(summary = "Get time report", description = "Total tracked seconds and cost per project, task and day, week or month within a date range")
+    public ResponseEntity<TimeReportResponse> getTimeReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAY") ReportGranularity granularity,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        TimeReportResponse response = reportService.getTimeReport(user.id(), startDate, endDate, granularity);
+        return ResponseEntity.ok(response);
+    }
+}
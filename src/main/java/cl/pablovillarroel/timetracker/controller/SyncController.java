@@ -0,0 +1,30 @@
+package cl.pablovillarroel.timetracker.controller;
+
+import cl.pablovillarroel.timetracker.config.AuthenticatedUser;
+import cl.pablovillarroel.timetracker.dto.SyncResponse;
+import cl.pablovillarroel.timetracker.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync", description = "Incremental synchronization for offline clients")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    @Operation(summary = "Get changes since a token", description = "Projects, tasks and time entries created, updated or deleted since the given token; omit it for a full sync and keep calling with nextToken while hasMore is true")
+    public ResponseEntity<SyncResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        SyncResponse response = syncService.getChanges(user.id(), since, limit);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,5 +1,8 @@
 package cl.pablovillarroel.timetracker.controller;
 
+import cl.pablovillarroel.timetracker.config.AuthenticatedUser;
+import cl.pablovillarroel.timetracker.dto.CollectionVersion;
+import cl.pablovillarroel.timetracker.dto.PageResponse;
 import cl.pablovillarroel.timetracker.dto.TaskRequest;
 import cl.pablovillarroel.timetracker.dto.TaskResponse;
 import cl.pablovillarroel.timetracker.service.TaskService;
@@ -7,12 +10,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -23,42 +26,47 @@ public class TaskController {
     private final TaskService taskService;
 
     @GetMapping("/project/{projectId}")
-    @Operation(summary = "Get tasks by project", description = "Retrieve all tasks for a specific project")
-    public ResponseEntity<List<TaskResponse>> getTasksByProjectId(@PathVariable Long projectId, Authentication authentication) {
-        String email = authentication.getName();
-        List<TaskResponse> response = taskService.getTasksByProjectId(projectId, email);
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get tasks by project", description = "Retrieve a page of tasks for a specific project; answers 304 when If-None-Match matches the current ETag")
+    public ResponseEntity<PageResponse<TaskResponse>> getTasksByProjectId(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest) {
+        CollectionVersion version = taskService.getTasksVersion(projectId, user.id());
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        PageResponse<TaskResponse> response = taskService.getTasksByProjectId(projectId, user.id(), cursor, limit);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(response);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get task by ID", description = "Retrieve a specific task by its ID")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id, Authentication authentication) {
-        String email = authentication.getName();
-        TaskResponse response = taskService.getTaskById(id, email);
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        TaskResponse response = taskService.getTaskById(id, user.id());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping
     @Operation(summary = "Create task", description = "Create a new task for the authenticated user")
-    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest request, Authentication authentication) {
-        String email = authentication.getName();
-        TaskResponse response = taskService.createTask(email, request);
+    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        TaskResponse response = taskService.createTask(user.id(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update task", description = "Update an existing task")
-    public ResponseEntity<TaskResponse> updateTask(@PathVariable Long id, @Valid @RequestBody TaskRequest request, Authentication authentication) {
-        String email = authentication.getName();
-        TaskResponse response = taskService.updateTask(id, request, email);
+    public ResponseEntity<TaskResponse> updateTask(@PathVariable Long id, @Valid @RequestBody TaskRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        TaskResponse response = taskService.updateTask(id, request, user.id());
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete task", description = "Delete a task by its ID")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id, Authentication authentication) {
-        String email = authentication.getName();
-        taskService.deleteTask(id, email);
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        taskService.deleteTask(id, user.id());
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,20 +1,39 @@
 package cl.pablovillarroel.timetracker.controller;
 
+import cl.pablovillarroel.timetracker.config.AuthenticatedUser;
+import cl.pablovillarroel.timetracker.dto.BatchTimeEntryRequest;
+import cl.pablovillarroel.timetracker.dto.BatchTimeEntryResponse;
+import cl.pablovillarroel.timetracker.dto.CollectionVersion;
+import cl.pablovillarroel.timetracker.dto.ExportFormat;
+import cl.pablovillarroel.timetracker.dto.PageResponse;
 import cl.pablovillarroel.timetracker.dto.StartTimeEntryRequest;
+import cl.pablovillarroel.timetracker.dto.TimeEntryEvent;
+import cl.pablovillarroel.timetracker.dto.TimeEntryEventType;
 import cl.pablovillarroel.timetracker.dto.TimeEntryRequest;
 import cl.pablovillarroel.timetracker.dto.TimeEntryResponse;
+import cl.pablovillarroel.timetracker.service.TimeEntryEventRegistry;
+import cl.pablovillarroel.timetracker.service.TimeEntryExportService;
 import cl.pablovillarroel.timetracker.service.TimeEntryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/time-entries")
@@ -23,80 +42,135 @@ import java.util.List;
 public class TimeEntryController {
 
     private final TimeEntryService timeEntryService;
+    private final TimeEntryExportService timeEntryExportService;
+    private final TimeEntryEventRegistry timeEntryEventRegistry;
 
     @GetMapping
-    @Operation(summary = "Get my time entries", description = "Retrieve all time entries for the authenticated user")
-    public ResponseEntity<List<TimeEntryResponse>> getMyTimeEntries(Authentication authentication) {
-        String email = authentication.getName();
-        List<TimeEntryResponse> response = timeEntryService.getMyTimeEntries(email);
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get my time entries", description = "Retrieve a page of time entries for the authenticated user, most recent first; answers 304 when If-None-Match matches the current ETag")
+    public ResponseEntity<PageResponse<TimeEntryResponse>> getMyTimeEntries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest) {
+        CollectionVersion version = timeEntryService.getMyTimeEntriesVersion(user.id());
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        PageResponse<TimeEntryResponse> response = timeEntryService.getMyTimeEntries(user.id(), cursor, limit);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(response);
     }
 
     @GetMapping("/task/{taskId}")
-    @Operation(summary = "Get time entries by task", description = "Retrieve all time entries for a specific task")
-    public ResponseEntity<List<TimeEntryResponse>> getTimeEntriesByTaskId(@PathVariable Long taskId, Authentication authentication) {
-        String email = authentication.getName();
-        List<TimeEntryResponse> response = timeEntryService.getTimeEntriesByTaskId(taskId, email);
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get time entries by task", description = "Retrieve a page of time entries for a specific task, most recent first; answers 304 when If-None-Match matches the current ETag")
+    public ResponseEntity<PageResponse<TimeEntryResponse>> getTimeEntriesByTaskId(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            WebRequest webRequest) {
+        CollectionVersion version = timeEntryService.getTaskTimeEntriesVersion(taskId, user.id());
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        PageResponse<TimeEntryResponse> response = timeEntryService.getTimeEntriesByTaskId(taskId, user.id(), cursor, limit);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(response);
     }
 
     @GetMapping("/project/{projectId}/range")
-    @Operation(summary = "Get time entries by project and date range", description = "Retrieve time entries for a project within a specific date range")
-    public ResponseEntity<List<TimeEntryResponse>> getTimeEntriesByProjectIdAndDateRange(
+    @Operation(summary = "Get time entries by project and date range", description = "Retrieve a page of time entries for a project within a specific date range, most recent first")
+    public ResponseEntity<PageResponse<TimeEntryResponse>> getTimeEntriesByProjectIdAndDateRange(
             @PathVariable Long projectId,
             @RequestParam LocalDateTime startDate,
             @RequestParam LocalDateTime endDate,
-            Authentication authentication) {
-        String email = authentication.getName();
-        List<TimeEntryResponse> response = timeEntryService.getTimeEntriesByProjectIdAndDateRange(projectId, startDate, endDate, email);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        PageResponse<TimeEntryResponse> response = timeEntryService.getTimeEntriesByProjectIdAndDateRange(projectId, startDate, endDate, user.id(), cursor, limit);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export time entries", description = "Stream every time entry starting within a date range, optionally for one project, as CSV or newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportTimeEntries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        timeEntryExportService.validateExport(user.id(), projectId, startDate, endDate);
+
+        StreamingResponseBody body = outputStream ->
+                timeEntryExportService.export(user.id(), projectId, startDate, endDate, format, outputStream);
+        String filename = "time-entries-" + startDate + "-" + endDate + (format == ExportFormat.CSV ? ".csv" : ".ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(format == ExportFormat.CSV ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream time entry events", description = "Server-sent events for the authenticated user: the running entry on connect, then every start, stop, create, update and delete")
+    public SseEmitter streamTimeEntryEvents(@AuthenticationPrincipal AuthenticatedUser user) {
+        // Subscribe before reading the running entry so a change made in between is not lost
+        SseEmitter emitter = timeEntryEventRegistry.subscribe(user.id());
+        TimeEntryResponse active = timeEntryService.getActiveTimeEntry(user.id());
+        timeEntryEventRegistry.send(user.id(), emitter, TimeEntryEvent.builder()
+                .type(TimeEntryEventType.ACTIVE)
+                .timeEntryId(active != null ? active.getId() : null)
+                .timeEntry(active)
+                .build());
+        return emitter;
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get time entry by ID", description = "Retrieve a specific time entry by its ID")
-    public ResponseEntity<TimeEntryResponse> getTimeEntryById(@PathVariable Long id, Authentication authentication) {
-        String email = authentication.getName();
-        TimeEntryResponse response = timeEntryService.getTimeEntryById(id, email);
+    public ResponseEntity<TimeEntryResponse> getTimeEntryById(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        TimeEntryResponse response = timeEntryService.getTimeEntryById(id, user.id());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/start")
     @Operation(summary = "Start time entry", description = "Start a new time entry for the authenticated user")
-    public ResponseEntity<TimeEntryResponse> startTimeEntry(@Valid @RequestBody StartTimeEntryRequest request, Authentication authentication) {
-        String email = authentication.getName();
-        TimeEntryResponse response = timeEntryService.startTimeEntry(email, request);
+    public ResponseEntity<TimeEntryResponse> startTimeEntry(@Valid @RequestBody StartTimeEntryRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        TimeEntryResponse response = timeEntryService.startTimeEntry(user.id(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @PostMapping("/stop")
     @Operation(summary = "Stop time entry", description = "Stop the currently running time entry for the authenticated user")
-    public ResponseEntity<TimeEntryResponse> stopTimeEntry(Authentication authentication) {
-        String email = authentication.getName();
-        TimeEntryResponse response = timeEntryService.stopTimeEntry(email);
+    public ResponseEntity<TimeEntryResponse> stopTimeEntry(@AuthenticationPrincipal AuthenticatedUser user) {
+        TimeEntryResponse response = timeEntryService.stopTimeEntry(user.id());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping
     @Operation(summary = "Create time entry", description = "Create a new manual time entry")
-    public ResponseEntity<TimeEntryResponse> createTimeEntry(@Valid @RequestBody TimeEntryRequest request, Authentication authentication) {
-        String email = authentication.getName();
-        TimeEntryResponse response = timeEntryService.createTimeEntry(email, request);
+    public ResponseEntity<TimeEntryResponse> createTimeEntry(@Valid @RequestBody TimeEntryRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        TimeEntryResponse response = timeEntryService.createTimeEntry(user.id(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create time entries in bulk", description = "Create up to 1000 finished time entries in one request; each entry is reported as created or rejected")
+    public ResponseEntity<BatchTimeEntryResponse> createTimeEntries(@Valid @RequestBody BatchTimeEntryRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        BatchTimeEntryResponse response = timeEntryService.createTimeEntries(user.id(), request);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update time entry", description = "Update an existing time entry")
-    public ResponseEntity<TimeEntryResponse> updateTimeEntry(@PathVariable Long id, @Valid @RequestBody TimeEntryRequest request, Authentication authentication) {
-        String email = authentication.getName();
-        TimeEntryResponse response = timeEntryService.updateTimeEntry(id, request, email);
+    public ResponseEntity<TimeEntryResponse> updateTimeEntry(@PathVariable Long id, @Valid @RequestBody TimeEntryRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        TimeEntryResponse response = timeEntryService.updateTimeEntry(id, request, user.id());
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete time entry", description = "Delete a time entry by its ID")
-    public ResponseEntity<Void> deleteTimeEntry(@PathVariable Long id, Authentication authentication) {
-        String email = authentication.getName();
-        timeEntryService.deleteTimeEntry(id, email);
+    public ResponseEntity<Void> deleteTimeEntry(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        timeEntryService.deleteTimeEntry(id, user.id());
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,5 +1,6 @@
 package cl.pablovillarroel.timetracker.controller;
 
+import cl.pablovillarroel.timetracker.config.AuthenticatedUser;
 import cl.pablovillarroel.timetracker.dto.UserRequest;
 import cl.pablovillarroel.timetracker.dto.UserResponse;
 import cl.pablovillarroel.timetracker.service.UserService;
@@ -9,7 +10,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -29,9 +30,15 @@ public class UserController {
 
     @GetMapping("/me")
     @Operation(summary = "Get current user", description = "Retrieve the authenticated user's information")
-    public ResponseEntity<UserResponse> getCurrentUser(Authentication authentication) {
-        String email = authentication.getName();
-        UserResponse response = userService.getUserByEmail(email);
+    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
+        UserResponse response = userService.getUserByEmail(user.email());
         return ResponseEntity.ok(response);
     }
+
+    @DeleteMapping("/me")
+    @Operation(summary = "Delete current user", description = "Delete the authenticated user with all their projects, tasks and time entries. Large accounts are disabled immediately and removed in the background (202 Accepted)")
+    public ResponseEntity<Void> deleteCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
+        boolean deleted = userService.deleteUser(user.id());
+        return deleted ? ResponseEntity.noContent().build() : ResponseEntity.accepted().build();
+    }
 }
@@ -0,0 +1,19 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTimeEntryItemResult {
+
+    private int index;
+    private BatchItemStatus status;
+    private TimeEntryResponse timeEntry;
+    private String code;
+    private String message;
+}
@@ -0,0 +1,24 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTimeEntryRequest {
+
+    public static final int MAX_ENTRIES = 1000;
+
+    // Items are validated one by one so that a bad entry is reported in its result instead of failing the batch
+    @NotEmpty(message = "Entries are required")
+    @Size(max = MAX_ENTRIES, message = "A batch must not exceed " + MAX_ENTRIES + " entries")
+    private List<TimeEntryRequest> entries;
+}
@@ -0,0 +1,19 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTimeEntryResponse {
+
+    private int created;
+    private int rejected;
+    private List<BatchTimeEntryItemResult> results;
+}
@@ -0,0 +1,25 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validator for a list endpoint: the number of rows and the sum of their change_version (V13), plus the latest
+ * updated_at for Last-Modified. Every insert or update draws a new, higher change_version from the database and
+ * deletes lower the count, so the ETag moves with any change. The sum rather than the maximum is taken because
+ * versions are drawn before commit: a transaction committing after a later one may add a lower version. Timestamps
+ * are not part of the ETag, since they come from the application nodes' clocks.
+ */
+public record CollectionVersion(long count, long changeSum, LocalDateTime lastModified) {
+
+    public String eTag() {
+        return "\"" + count + "-" + Long.toHexString(changeSum) + "\"";
+    }
+
+    /**
+     * @return the latest change in epoch milliseconds, or -1 for an empty collection
+     */
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,6 @@
+package cl.pablovillarroel.timetracker.dto;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,7 @@
+package cl.pablovillarroel.timetracker.dto;
+
+public enum ReportGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -0,0 +1,17 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import cl.pablovillarroel.timetracker.model.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncDeletion {
+
+    private SyncEntityType entityType;
+    private Long id;
+}
@@ -0,0 +1,37 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rows created, updated or deleted since the client's token. Deleting a project or task also removes its children,
+ * which are not listed separately. When resetRequired is set the token is too old and the client must discard its
+ * local copy and sync again without one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncResponse {
+
+    @Builder.Default
+    private List<ProjectResponse> projects = new ArrayList<>();
+
+    @Builder.Default
+    private List<TaskResponse> tasks = new ArrayList<>();
+
+    @Builder.Default
+    private List<TimeEntryResponse> timeEntries = new ArrayList<>();
+
+    @Builder.Default
+    private List<SyncDeletion> deleted = new ArrayList<>();
+
+    private String nextToken;
+    private boolean hasMore;
+    private boolean resetRequired;
+}
@@ -0,0 +1,21 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pushed to the user's event stream. ACTIVE is sent once on connect with the running entry, or without one when
+ * no timer is running; DELETED carries only the id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeEntryEvent {
+
+    private TimeEntryEventType type;
+    private Long timeEntryId;
+    private TimeEntryResponse timeEntry;
+}
@@ -0,0 +1,10 @@
+package cl.pablovillarroel.timetracker.dto;
+
+public enum TimeEntryEventType {
+    ACTIVE,
+    STARTED,
+    STOPPED,
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,26 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeEntryExportRow {
+
+    private Long id;
+    private Long projectId;
+    private String projectName;
+    private Long taskId;
+    private String taskName;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long duration;
+    private BigDecimal cost;
+}
@@ -0,0 +1,24 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeReportResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private ReportGranularity granularity;
+    private Long totalSeconds;
+    private BigDecimal totalCost;
+    private List<TimeReportRow> rows;
+}
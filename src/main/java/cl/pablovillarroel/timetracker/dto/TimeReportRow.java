@@ -0,0 +1,24 @@
+package cl.pablovillarroel.timetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeReportRow {
+
+    private LocalDate period;
+    private Long projectId;
+    private String projectName;
+    private Long taskId;
+    private String taskName;
+    private Long totalSeconds;
+    private BigDecimal totalCost;
+}
@@ -0,0 +1,21 @@
+package cl.pablovillarroel.timetracker.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    private final String code;
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String code, String message, long retryAfterSeconds) {
+        super(message);
+        this.code = code;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,31 @@
+package cl.pablovillarroel.timetracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A disabled user whose data is still being deleted in the background.
+ */
+@Entity
+@Table(name = "pending_user_deletions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingUserDeletion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "last_progress_at", nullable = false)
+    private LocalDateTime lastProgressAt;
+}
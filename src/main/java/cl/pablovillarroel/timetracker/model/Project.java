@@ -49,6 +49,13 @@ public class Project {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Maintained by the set_change_version trigger from V13; read by the delta sync endpoint
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
+    @Column(name = "change_version", insertable = false, updatable = false)
+    private Long changeVersion;
+
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Task> tasks = new ArrayList<>();
@@ -0,0 +1,7 @@
+package cl.pablovillarroel.timetracker.model;
+
+public enum SyncEntityType {
+    PROJECT,
+    TASK,
+    TIME_ENTRY
+}
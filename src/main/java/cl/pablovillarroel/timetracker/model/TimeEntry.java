@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,8 +20,10 @@ import java.time.LocalDateTime;
 @Builder
 public class TimeEntry {
 
+    // Pooled sequence ids let Hibernate batch inserts; the increment must match V11
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_entries_id_seq")
+    @SequenceGenerator(name = "time_entries_id_seq", sequenceName = "time_entries_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -44,4 +47,15 @@ public class TimeEntry {
     @DecimalMin(value = "0.0", message = "Cost must be greater than or equal to 0")
     @Column(precision = 10, scale = 2)
     private BigDecimal cost;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Maintained by the set_change_version trigger from V13; read by the delta sync endpoint
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
+    @Column(name = "change_version", insertable = false, updatable = false)
+    private Long changeVersion;
 }
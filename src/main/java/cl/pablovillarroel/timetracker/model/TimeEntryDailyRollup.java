@@ -0,0 +1,57 @@
+package cl.pablovillarroel.timetracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "time_entry_daily_rollups")
+@IdClass(TimeEntryDailyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeEntryDailyRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "total_seconds", nullable = false)
+    private Long totalSeconds;
+
+    @Column(name = "total_cost", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalCost;
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long userId;
+        private LocalDate day;
+        private Long projectId;
+        private Long taskId;
+    }
+}
@@ -0,0 +1,32 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One project of a user joined with one of its tasks; the task columns are null for a project without tasks.
+ */
+public interface CatalogRowProjection {
+
+    Long getProjectId();
+
+    String getProjectName();
+
+    BigDecimal getHourlyCost();
+
+    LocalDateTime getProjectCreatedAt();
+
+    LocalDateTime getProjectUpdatedAt();
+
+    Long getProjectChangeVersion();
+
+    Long getTaskId();
+
+    String getTaskName();
+
+    LocalDateTime getTaskCreatedAt();
+
+    LocalDateTime getTaskUpdatedAt();
+
+    Long getTaskChangeVersion();
+}
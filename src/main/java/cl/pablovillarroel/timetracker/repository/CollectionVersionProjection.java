@@ -0,0 +1,16 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count, change_version sum and latest change of a collection, enough to tell whether it changed without
+ * loading it.
+ */
+public interface CollectionVersionProjection {
+
+    long getCount();
+
+    long getChangeSum();
+
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,48 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import cl.pablovillarroel.timetracker.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKey.Key> {
+
+    Optional<IdempotencyKey> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    /**
+     * Records that a request with this key is being processed. Succeeds for a new key, or takes over an expired key
+     * or a claim left behind by a request that never completed; returns 0 when another request holds or has
+     * completed the key.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, created_at)
+            VALUES (:userId, :key, :requestHash, :now)
+            ON CONFLICT (user_id, idempotency_key) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash, status_code = NULL, content_type = NULL, response_body = NULL,
+                created_at = EXCLUDED.created_at
+            WHERE (idempotency_keys.status_code IS NULL AND idempotency_keys.created_at < :staleBefore)
+               OR idempotency_keys.created_at < :expiredBefore
+            """, nativeQuery = true)
+    int claim(@Param("userId") Long userId, @Param("key") String key, @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore, @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET status_code = :statusCode, content_type = :contentType, response_body = :body WHERE user_id = :userId AND idempotency_key = :key", nativeQuery = true)
+    int complete(@Param("userId") Long userId, @Param("key") String key, @Param("statusCode") int statusCode,
+                 @Param("contentType") String contentType, @Param("body") byte[] body);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE user_id = :userId AND idempotency_key = :key AND status_code IS NULL", nativeQuery = true)
+    int release(@Param("userId") Long userId, @Param("key") String key);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,29 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import cl.pablovillarroel.timetracker.model.PendingUserDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PendingUserDeletionRepository extends JpaRepository<PendingUserDeletion, Long> {
+
+    @Query("SELECT p.userId FROM PendingUserDeletion p WHERE p.lastProgressAt < :staleBefore ORDER BY p.requestedAt")
+    List<Long> findStalledUserIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Takes over a stalled deletion; only one of several nodes racing for the same row gets 1.
+     */
+    @Modifying
+    @Query("UPDATE PendingUserDeletion p SET p.lastProgressAt = :now WHERE p.userId = :userId AND p.lastProgressAt < :staleBefore")
+    int claimStalled(@Param("userId") Long userId, @Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PendingUserDeletion p SET p.lastProgressAt = :now WHERE p.userId = :userId")
+    int recordProgress(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
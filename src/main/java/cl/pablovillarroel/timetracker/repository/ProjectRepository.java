@@ -1,9 +1,46 @@
 package cl.pablovillarroel.timetracker.repository;
 
 import cl.pablovillarroel.timetracker.model.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    Optional<Project> findByIdAndUser_Id(Long id, Long userId);
+
+    boolean existsByIdAndUser_Id(Long id, Long userId);
+
+    /**
+     * Deletes an owned project in one statement; its tasks, time entries and rollups go with it through
+     * the ON DELETE CASCADE foreign keys instead of being loaded and removed one by one.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    int bulkDeleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM projects WHERE id IN (SELECT id FROM projects WHERE user_id = :userId LIMIT :chunkSize)", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("chunkSize") int chunkSize);
+
+    List<Project> findByUser_IdAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Limit limit);
+
+    @Query("SELECT p FROM Project p WHERE p.user.id = :userId AND (p.changeXid > :xid OR (p.changeXid = :xid AND p.changeVersion > :version)) AND p.changeXid < :stableXid ORDER BY p.changeXid, p.changeVersion")
+    List<Project> findChanges(@Param("userId") Long userId, @Param("xid") long xid, @Param("version") long version, @Param("stableXid") long stableXid, Limit limit);
+
+    @Query("SELECT COUNT(p) AS count, COALESCE(SUM(p.changeVersion), 0) AS changeSum, MAX(p.updatedAt) AS lastModified FROM Project p WHERE p.user.id = :userId")
+    CollectionVersionProjection findVersionByUserId(@Param("userId") Long userId);
+
+    /**
+     * All projects and tasks of a user in one statement, to fill {@code CatalogCache}.
+     */
+    @Query("SELECT p.id AS projectId, p.name AS projectName, p.hourlyCost AS hourlyCost, p.createdAt AS projectCreatedAt, p.updatedAt AS projectUpdatedAt, p.changeVersion AS projectChangeVersion, t.id AS taskId, t.name AS taskName, t.createdAt AS taskCreatedAt, t.updatedAt AS taskUpdatedAt, t.changeVersion AS taskChangeVersion FROM Project p LEFT JOIN p.tasks t WHERE p.user.id = :userId")
+    List<CatalogRowProjection> findCatalogByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,28 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A rollup row whose totals disagree with the time entries it summarizes.
+ */
+public interface RollupMismatchProjection {
+
+    Long getUserId();
+
+    LocalDate getDay();
+
+    Long getTaskId();
+
+    Long getRollupSeconds();
+
+    Long getActualSeconds();
+
+    BigDecimal getRollupCost();
+
+    BigDecimal getActualCost();
+
+    Integer getRollupCount();
+
+    Integer getActualCount();
+}
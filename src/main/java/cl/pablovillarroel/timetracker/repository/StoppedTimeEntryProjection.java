@@ -0,0 +1,26 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Columns returned by the statement that stops the running time entry.
+ */
+public interface StoppedTimeEntryProjection {
+
+    Long getId();
+
+    Long getTaskId();
+
+    Long getProjectId();
+
+    Long getUserId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    Long getDuration();
+
+    BigDecimal getCost();
+}
@@ -0,0 +1,41 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import cl.pablovillarroel.timetracker.model.SyncTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT t FROM SyncTombstone t WHERE t.userId = :userId AND (t.changeXid > :xid OR (t.changeXid = :xid AND t.changeVersion > :version)) AND t.changeXid < :stableXid ORDER BY t.changeXid, t.changeVersion")
+    List<SyncTombstone> findChanges(@Param("userId") Long userId, @Param("xid") long xid, @Param("version") long version, @Param("stableXid") long stableXid, Limit limit);
+
+    /**
+     * Every transaction id below the returned one has committed or rolled back, so rows stamped with a lower
+     * change_xid can no longer appear behind a sync token.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long findStableXid();
+
+    @Query(value = "SELECT tombstones_purged_before_xid FROM sync_state WHERE id = 1", nativeQuery = true)
+    long findPurgedBeforeXid();
+
+    /**
+     * Raises the watermark past the tombstones about to be purged, so tokens that could have missed one of them
+     * are told to resync.
+     */
+    @Modifying
+    @Query(value = "UPDATE sync_state SET tombstones_purged_before_xid = GREATEST(tombstones_purged_before_xid, (SELECT MAX(change_xid) + 1 FROM sync_tombstones WHERE deleted_at < :cutoff)) WHERE id = 1", nativeQuery = true)
+    int raisePurgedBeforeXid(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "DELETE FROM sync_tombstones WHERE deleted_at < :cutoff", nativeQuery = true)
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,9 +1,39 @@
 package cl.pablovillarroel.timetracker.repository;
 
 import cl.pablovillarroel.timetracker.model.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
+
+    Optional<Task> findByIdAndProject_User_Id(Long id, Long userId);
+
+    boolean existsByIdAndProject_User_Id(Long id, Long userId);
+
+    List<Task> findByIdInAndProject_User_Id(Collection<Long> ids, Long userId);
+
+    /**
+     * Deletes an owned task in one statement; its time entries and rollups go with it through the
+     * ON DELETE CASCADE foreign keys.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.project.id IN (SELECT p.id FROM Project p WHERE p.user.id = :userId)")
+    int bulkDeleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    List<Task> findByProject_IdAndIdGreaterThanOrderByIdAsc(Long projectId, Long afterId, Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE t.project.user.id = :userId AND (t.changeXid > :xid OR (t.changeXid = :xid AND t.changeVersion > :version)) AND t.changeXid < :stableXid ORDER BY t.changeXid, t.changeVersion")
+    List<Task> findChanges(@Param("userId") Long userId, @Param("xid") long xid, @Param("version") long version, @Param("stableXid") long stableXid, Limit limit);
+
+    @Query("SELECT COUNT(t) AS count, COALESCE(SUM(t.changeVersion), 0) AS changeSum, MAX(t.updatedAt) AS lastModified FROM Task t WHERE t.project.id = :projectId AND t.project.user.id = :userId")
+    CollectionVersionProjection findVersionByProjectIdAndUserId(@Param("projectId") Long projectId, @Param("userId") Long userId);
 }
@@ -0,0 +1,93 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import cl.pablovillarroel.timetracker.model.TimeEntryDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TimeEntryDailyRollupRepository extends JpaRepository<TimeEntryDailyRollup, TimeEntryDailyRollup.Key> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO time_entry_daily_rollups (user_id, day, project_id, task_id, total_seconds, total_cost, entry_count)
+            VALUES (:userId, :day, :projectId, :taskId, :seconds, :cost, :count)
+            ON CONFLICT (user_id, day, project_id, task_id) DO UPDATE
+            SET total_seconds = time_entry_daily_rollups.total_seconds + EXCLUDED.total_seconds,
+                total_cost = time_entry_daily_rollups.total_cost + EXCLUDED.total_cost,
+                entry_count = time_entry_daily_rollups.entry_count + EXCLUDED.entry_count
+            """, nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId, @Param("day") LocalDate day, @Param("projectId") Long projectId, @Param("taskId") Long taskId,
+                    @Param("seconds") long seconds, @Param("cost") BigDecimal cost, @Param("count") int count);
+
+    @Modifying
+    @Query(value = "DELETE FROM time_entry_daily_rollups WHERE user_id IN (:userIds)", nativeQuery = true)
+    int deleteByUserIds(@Param("userIds") List<Long> userIds);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO time_entry_daily_rollups (user_id, day, project_id, task_id, total_seconds, total_cost, entry_count)
+            SELECT te.user_id, CAST(te.start_time AS date), t.project_id, te.task_id,
+                   SUM(COALESCE(te.duration, 0)), SUM(COALESCE(te.cost, 0)), COUNT(*)
+            FROM time_entries te
+            JOIN tasks t ON t.id = te.task_id
+            WHERE te.user_id IN (:userIds)
+              AND te.end_time IS NOT NULL
+            GROUP BY te.user_id, CAST(te.start_time AS date), t.project_id, te.task_id
+            """, nativeQuery = true)
+    int insertAggregatesForUsers(@Param("userIds") List<Long> userIds);
+
+    @Query(value = """
+            SELECT COALESCE(r.user_id, a.user_id) AS "userId",
+                   COALESCE(r.day, a.day) AS "day",
+                   COALESCE(r.task_id, a.task_id) AS "taskId",
+                   r.total_seconds AS "rollupSeconds",
+                   a.total_seconds AS "actualSeconds",
+                   r.total_cost AS "rollupCost",
+                   a.total_cost AS "actualCost",
+                   r.entry_count AS "rollupCount",
+                   a.entry_count AS "actualCount"
+            FROM (
+                SELECT * FROM time_entry_daily_rollups WHERE user_id IN (:userIds)
+            ) r
+            FULL OUTER JOIN (
+                SELECT te.user_id, CAST(te.start_time AS date) AS day, t.project_id, te.task_id,
+                       CAST(SUM(COALESCE(te.duration, 0)) AS bigint) AS total_seconds,
+                       SUM(COALESCE(te.cost, 0)) AS total_cost,
+                       CAST(COUNT(*) AS integer) AS entry_count
+                FROM time_entries te
+                JOIN tasks t ON t.id = te.task_id
+                WHERE te.user_id IN (:userIds)
+                  AND te.end_time IS NOT NULL
+                GROUP BY te.user_id, CAST(te.start_time AS date), t.project_id, te.task_id
+            ) a ON a.user_id = r.user_id AND a.day = r.day AND a.project_id = r.project_id AND a.task_id = r.task_id
+            WHERE (COALESCE(r.total_seconds, 0), COALESCE(r.total_cost, 0), COALESCE(r.entry_count, 0))
+                  IS DISTINCT FROM (COALESCE(a.total_seconds, 0), COALESCE(a.total_cost, 0), COALESCE(a.entry_count, 0))
+            """, nativeQuery = true)
+    List<RollupMismatchProjection> findMismatchesForUsers(@Param("userIds") List<Long> userIds);
+
+    @Query(value = """
+            SELECT CAST(date_trunc(:granularity, r.day) AS date) AS "period",
+                   p.id AS "projectId",
+                   p.name AS "projectName",
+                   t.id AS "taskId",
+                   t.name AS "taskName",
+                   CAST(SUM(r.total_seconds) AS bigint) AS "totalSeconds",
+                   SUM(r.total_cost) AS "totalCost"
+            FROM time_entry_daily_rollups r
+            JOIN tasks t ON t.id = r.task_id
+            JOIN projects p ON p.id = r.project_id
+            WHERE r.user_id = :userId
+              AND r.day BETWEEN :startDate AND :endDate
+              AND r.entry_count > 0
+            GROUP BY 1, 2, 3, 4, 5
+            ORDER BY 1, 2, 4
+            """, nativeQuery = true)
+    List<TimeReportProjection> aggregateByPeriod(@Param("userId") Long userId, @Param("granularity") String granularity, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,29 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One exported time entry joined with its task and project names, read without loading entities so that a
+ * streamed export does not grow the persistence context.
+ */
+public interface TimeEntryExportProjection {
+
+    Long getId();
+
+    Long getProjectId();
+
+    String getProjectName();
+
+    Long getTaskId();
+
+    String getTaskName();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    Long getDuration();
+
+    BigDecimal getCost();
+}
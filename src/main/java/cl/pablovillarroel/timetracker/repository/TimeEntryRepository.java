@@ -1,20 +1,110 @@
 package cl.pablovillarroel.timetracker.repository;
 
 import cl.pablovillarroel.timetracker.model.TimeEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> {
 
-    Optional<TimeEntry> findFirstByUser_IdAndEndTimeIsNullOrderByStartTimeDesc(Long userId);
+    Optional<TimeEntry> findByIdAndUser_Id(Long id, Long userId);
 
-    @Query("SELECT te FROM TimeEntry te JOIN te.task t JOIN t.project p WHERE p.id = :projectId AND te.startTime BETWEEN :startDate AND :endDate ORDER BY te.startTime DESC")
-    List<TimeEntry> findByProjectIdAndDateRange(@Param("projectId") Long projectId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    boolean existsByUser_IdAndEndTimeIsNull(Long userId);
+
+    Optional<TimeEntry> findByUser_IdAndEndTimeIsNull(Long userId);
+
+    long countByUser_Id(Long userId);
+
+    @Query("SELECT COUNT(te) AS count, COALESCE(SUM(te.changeVersion), 0) AS changeSum, MAX(te.updatedAt) AS lastModified FROM TimeEntry te WHERE te.user.id = :userId")
+    CollectionVersionProjection findVersionByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT te FROM TimeEntry te WHERE te.user.id = :userId AND (te.changeXid > :xid OR (te.changeXid = :xid AND te.changeVersion > :version)) AND te.changeXid < :stableXid ORDER BY te.changeXid, te.changeVersion")
+    List<TimeEntry> findChanges(@Param("userId") Long userId, @Param("xid") long xid, @Param("version") long version, @Param("stableXid") long stableXid, Limit limit);
+
+    @Query("SELECT COUNT(te) AS count, COALESCE(SUM(te.changeVersion), 0) AS changeSum, MAX(te.updatedAt) AS lastModified FROM TimeEntry te WHERE te.task.id = :taskId AND te.user.id = :userId")
+    CollectionVersionProjection findVersionByTaskIdAndUserId(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM time_entries WHERE id IN (SELECT id FROM time_entries WHERE user_id = :userId LIMIT :chunkSize)", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("chunkSize") int chunkSize);
+
+    /**
+     * Starts a time entry on a task owned by the user unless the user already has a running one.
+     * The ownership check, the active-entry check and the insert are a single statement; the partial
+     * unique index on running entries makes concurrent starts for the same user insert at most one row.
+     *
+     * @return the id of the new entry, or empty when the task is not owned or an entry is already running
+     */
+    @Query(value = """
+            INSERT INTO time_entries (task_id, user_id, start_time, updated_at)
+            SELECT t.id, p.user_id, :startTime, :startTime
+            FROM tasks t
+            JOIN projects p ON p.id = t.project_id
+            WHERE t.id = :taskId
+              AND p.user_id = :userId
+            ON CONFLICT (user_id) WHERE end_time IS NULL DO NOTHING
+            RETURNING id
+            """, nativeQuery = true)
+    Optional<Long> insertActiveIfNone(@Param("userId") Long userId, @Param("taskId") Long taskId, @Param("startTime") LocalDateTime startTime);
+
+    /**
+     * Stops the user's running time entry, computing its duration and cost in the same statement.
+     * Cost is the project's hourly cost times the hours rounded half up to two decimals.
+     *
+     * @return the stopped entry, or empty when no entry is running
+     */
+    @Query(value = """
+            UPDATE time_entries te
+            SET end_time = :endTime,
+                updated_at = :endTime,
+                duration = CAST(FLOOR(EXTRACT(EPOCH FROM (:endTime - te.start_time))) AS bigint),
+                cost = ROUND(p.hourly_cost * ROUND(FLOOR(EXTRACT(EPOCH FROM (:endTime - te.start_time))) / 3600, 2), 2)
+            FROM tasks t
+            JOIN projects p ON p.id = t.project_id
+            WHERE te.user_id = :userId
+              AND te.end_time IS NULL
+              AND t.id = te.task_id
+            RETURNING te.id AS "id", te.task_id AS "taskId", t.project_id AS "projectId", te.user_id AS "userId",
+                      te.start_time AS "startTime", te.end_time AS "endTime", te.duration AS "duration", te.cost AS "cost"
+            """, nativeQuery = true)
+    Optional<StoppedTimeEntryProjection> stopActive(@Param("userId") Long userId, @Param("endTime") LocalDateTime endTime);
+
+    List<TimeEntry> findByUser_IdOrderByStartTimeDescIdDesc(Long userId, Limit limit);
+
+    @Query("SELECT te FROM TimeEntry te WHERE te.user.id = :userId AND (te.startTime < :startTime OR (te.startTime = :startTime AND te.id < :id)) ORDER BY te.startTime DESC, te.id DESC")
+    List<TimeEntry> findByUserIdAfter(@Param("userId") Long userId, @Param("startTime") LocalDateTime startTime, @Param("id") Long id, Limit limit);
+
+    List<TimeEntry> findByTask_IdOrderByStartTimeDescIdDesc(Long taskId, Limit limit);
+
+    @Query("SELECT te FROM TimeEntry te WHERE te.task.id = :taskId AND (te.startTime < :startTime OR (te.startTime = :startTime AND te.id < :id)) ORDER BY te.startTime DESC, te.id DESC")
+    List<TimeEntry> findByTaskIdAfter(@Param("taskId") Long taskId, @Param("startTime") LocalDateTime startTime, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT te FROM TimeEntry te JOIN te.task t JOIN t.project p WHERE p.id = :projectId AND te.startTime BETWEEN :startDate AND :endDate ORDER BY te.startTime DESC, te.id DESC")
+    List<TimeEntry> findByProjectIdAndDateRange(@Param("projectId") Long projectId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Limit limit);
+
+    @Query("SELECT te FROM TimeEntry te JOIN te.task t JOIN t.project p WHERE p.id = :projectId AND te.startTime BETWEEN :startDate AND :endDate AND (te.startTime < :startTime OR (te.startTime = :startTime AND te.id < :id)) ORDER BY te.startTime DESC, te.id DESC")
+    List<TimeEntry> findByProjectIdAndDateRangeAfter(@Param("projectId") Long projectId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, @Param("startTime") LocalDateTime startTime, @Param("id") Long id, Limit limit);
+
+    /**
+     * Streams entries in start time order for an export. The fetch size makes the driver read through a server-side
+     * cursor instead of buffering the whole result, which only works inside a transaction; close the stream when done.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT te.id AS id, p.id AS projectId, p.name AS projectName, t.id AS taskId, t.name AS taskName, te.startTime AS startTime, te.endTime AS endTime, te.duration AS duration, te.cost AS cost FROM TimeEntry te JOIN te.task t JOIN t.project p WHERE te.user.id = :userId AND (:projectId IS NULL OR p.id = :projectId) AND te.startTime >= :startDate AND te.startTime < :endDate ORDER BY te.startTime, te.id")
+    Stream<TimeEntryExportProjection> streamForExport(@Param("userId") Long userId, @Param("projectId") Long projectId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 }
@@ -0,0 +1,24 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One aggregated row of the time report, read straight from a grouped query without loading entities.
+ */
+public interface TimeReportProjection {
+
+    LocalDate getPeriod();
+
+    Long getProjectId();
+
+    String getProjectName();
+
+    Long getTaskId();
+
+    String getTaskName();
+
+    Long getTotalSeconds();
+
+    BigDecimal getTotalCost();
+}
@@ -0,0 +1,26 @@
+package cl.pablovillarroel.timetracker.repository;
+
+import cl.pablovillarroel.timetracker.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+
+    List<TokenRevocation> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime revokedAfter, LocalDateTime now);
+
+    @Query("SELECT COUNT(r) > 0 FROM TokenRevocation r WHERE r.expiresAt > :now AND (r.jti = :jti OR (r.jti IS NULL AND r.userId = :userId AND r.revokedAt >= :issuedAt))")
+    boolean isRevoked(@Param("jti") String jti, @Param("userId") Long userId, @Param("issuedAt") LocalDateTime issuedAt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM token_revocations WHERE expires_at < :now", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -6,19 +6,26 @@ import cl.pablovillarroel.timetracker.dto.LoginResponse;
 import cl.pablovillarroel.timetracker.exception.BusinessException;
 import cl.pablovillarroel.timetracker.model.User;
 import cl.pablovillarroel.timetracker.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final TokenRevocationService tokenRevocationService;
     private final JwtUtil jwtUtil;
 
-    public LoginResponse login(LoginRequest request) {
+    public LoginResponse login(LoginRequest request, String clientIp) {
+        loginRateLimiter.check(clientIp, request.getEmail());
+
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BusinessException("INVALID_CREDENTIALS", "Invalid email or password"));
 
@@ -26,15 +33,30 @@ public class AuthService {
             throw new BusinessException("USER_DISABLED", "User account is disabled");
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new BusinessException("INVALID_CREDENTIALS", "Invalid email or password");
         }
 
-        String token = jwtUtil.generateToken(user.getEmail());
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail());
 
         return mapToLoginResponse(user, token);
     }
 
+    /**
+     * Revokes the given token for the rest of its lifetime.
+     */
+    public void logout(String token) {
+        Claims claims = jwtUtil.verify(token)
+                .orElseThrow(() -> new BusinessException("INVALID_TOKEN", "Invalid or expired token"));
+        Long userId = jwtUtil.extractUserId(claims);
+        if (claims.getId() == null || userId == null) {
+            throw new BusinessException("TOKEN_NOT_REVOCABLE", "Token was issued before revocation was supported");
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        tokenRevocationService.revokeToken(claims.getId(), userId, expiresAt);
+    }
+
     private LoginResponse mapToLoginResponse(User user, String token) {
         return LoginResponse.builder()
                 .token(token)
@@ -0,0 +1,205 @@
+package cl.pablovillarroel.timetracker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Carries cache invalidations between nodes over Postgres LISTEN/NOTIFY, so no broker is needed.
+ *
+ * <p>Write paths NOTIFY inside their own transaction: the notification is only delivered if the change commits, and
+ * Postgres folds identical notifications of one transaction into one. Every node keeps a dedicated connection to the
+ * primary LISTENing (notifications do not reach replicas) and evicts the keys it receives, collecting a burst for a
+ * short window first so each key is evicted once. Evicted entries are reloaded from the primary, since the change
+ * may not have reached a replica yet. Notifications sent while a node is not listening are lost, so the node
+ * flushes its caches whenever it (re)connects.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "cache_invalidation";
+
+    private static final String CATALOG = "catalog";
+    private static final String USER = "user";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogCache catalogCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final Counter received;
+    private final boolean enabled;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long coalesceMs;
+    private final int pollIntervalMs;
+    private final long reconnectDelayMs;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate, CatalogCache catalogCache,
+                                TokenRevocationService tokenRevocationService, MeterRegistry meterRegistry,
+                                @Value("${cache-invalidation.enabled:true}") boolean enabled,
+                                @Value("${spring.datasource.url}") String url,
+                                @Value("${spring.datasource.username}") String username,
+                                @Value("${spring.datasource.password}") String password,
+                                @Value("${cache-invalidation.coalesce-ms:100}") long coalesceMs,
+                                @Value("${cache-invalidation.poll-interval-ms:10000}") int pollIntervalMs,
+                                @Value("${cache-invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogCache = catalogCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.received = Counter.builder("cache.invalidation.notifications")
+                .description("Cache invalidation notifications received from any node, including this one")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.coalesceMs = coalesceMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        publish(CATALOG, event.userId());
+    }
+
+    @EventListener
+    public void onUserDisabled(UserDisabledEvent event) {
+        publish(USER, event.userId());
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listener == null) {
+            return;
+        }
+        closeQuietly(connection);
+        listener.join(pollIntervalMs);
+    }
+
+    private void publish(String kind, Long userId) {
+        if (enabled) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, kind + ":" + userId);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listening = DriverManager.getConnection(url, username, password)) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Whatever was published while this node was not listening is lost, so start from empty caches
+                catalogCache.invalidateAll();
+                log.info("Listening for cache invalidations on channel {}", CHANNEL);
+
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                while (running) {
+                    Set<String> payloads = new HashSet<>();
+                    collect(pgConnection.getNotifications(pollIntervalMs), payloads);
+                    if (payloads.isEmpty()) {
+                        // Nothing arrived; make sure the connection is still alive rather than silently half-open
+                        try (Statement statement = listening.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        continue;
+                    }
+
+                    long deadline = System.currentTimeMillis() + coalesceMs;
+                    long remaining;
+                    while ((remaining = deadline - System.currentTimeMillis()) > 0) {
+                        collect(pgConnection.getNotifications((int) remaining), payloads);
+                    }
+                    payloads.forEach(this::evict);
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting in {} ms: {}", reconnectDelayMs, ex.getMessage());
+                    sleep(reconnectDelayMs);
+                }
+            }
+        }
+    }
+
+    private void collect(PGNotification[] notifications, Set<String> payloads) {
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            received.increment();
+            payloads.add(notification.getParameter());
+        }
+    }
+
+    private void evict(String payload) {
+        int separator = payload.indexOf(':');
+        String kind = separator > 0 ? payload.substring(0, separator) : payload;
+        Long userId;
+        try {
+            userId = Long.valueOf(payload.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            log.warn("Ignoring malformed cache invalidation {}", payload);
+            return;
+        }
+
+        switch (kind) {
+            case CATALOG -> catalogCache.invalidate(userId);
+            case USER -> {
+                catalogCache.invalidate(userId);
+                // Picks up the user's revocation now instead of at the next poll
+                tokenRevocationService.refresh();
+            }
+            default -> log.warn("Ignoring cache invalidation of unknown kind {}", payload);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.debug("Closing the cache invalidation connection failed", ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
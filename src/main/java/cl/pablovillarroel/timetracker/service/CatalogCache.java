@@ -0,0 +1,253 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.config.PrimaryDataSourcePin;
+import cl.pablovillarroel.timetracker.dto.CollectionVersion;
+import cl.pablovillarroel.timetracker.model.Project;
+import cl.pablovillarroel.timetracker.model.Task;
+import cl.pablovillarroel.timetracker.repository.CatalogRowProjection;
+import cl.pablovillarroel.timetracker.repository.CollectionVersionProjection;
+import cl.pablovillarroel.timetracker.repository.ProjectRepository;
+import cl.pablovillarroel.timetracker.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Each user's projects and tasks, kept in memory so listings and ownership checks do not go to Postgres.
+ *
+ * <p>A user's catalog is loaded whole in one statement on first use and dropped when one of their projects or tasks
+ * changes, once the change has committed; a load still running at that point is discarded as well. The cache is
+ * bounded by the total number of projects and tasks held and by a TTL. Changes made on other nodes arrive through
+ * {@link CacheInvalidationBus}; the TTL is the backstop should one be lost. With catalog-cache.enabled=false every
+ * call goes to the owner-scoped queries instead.
+ *
+ * <p>List validators come from the same catalog as the listings, so a conditional GET never labels an older body
+ * with the ETag of a newer one.
+ */
+@Service
+public class CatalogCache {
+
+    private static final CollectionVersion EMPTY = new CollectionVersion(0, 0, null);
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final LoadingCache<Long, Catalog> catalogs;
+
+    public CatalogCache(ProjectRepository projectRepository, TaskRepository taskRepository, MeterRegistry meterRegistry,
+                        @Value("${catalog-cache.enabled:true}") boolean enabled,
+                        @Value("${catalog-cache.max-entries:500000}") long maxEntries,
+                        @Value("${catalog-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+
+        if (!enabled) {
+            this.catalogs = null;
+            return;
+        }
+        this.catalogs = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((Long userId, Catalog catalog) -> catalog.size())
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, catalogs, "catalog");
+        Gauge.builder("catalog.cache.hit.ratio", catalogs, cache -> cache.stats().hitRate())
+                .description("Share of catalog lookups answered from memory since startup")
+                .register(meterRegistry);
+    }
+
+    public Optional<CachedProject> findProject(Long userId, Long projectId) {
+        if (catalogs == null) {
+            return projectRepository.findByIdAndUser_Id(projectId, userId).map(CatalogCache::toCached);
+        }
+        return Optional.ofNullable(catalogs.get(userId).projects().get(projectId));
+    }
+
+    public boolean ownsProject(Long userId, Long projectId) {
+        if (catalogs == null) {
+            return projectRepository.existsByIdAndUser_Id(projectId, userId);
+        }
+        return catalogs.get(userId).projects().containsKey(projectId);
+    }
+
+    public Optional<CachedTask> findTask(Long userId, Long taskId) {
+        if (catalogs == null) {
+            return taskRepository.findByIdAndProject_User_Id(taskId, userId).map(CatalogCache::toCached);
+        }
+        return Optional.ofNullable(catalogs.get(userId).tasks().get(taskId));
+    }
+
+    public boolean ownsTask(Long userId, Long taskId) {
+        if (catalogs == null) {
+            return taskRepository.existsByIdAndProject_User_Id(taskId, userId);
+        }
+        return catalogs.get(userId).tasks().containsKey(taskId);
+    }
+
+    /**
+     * @return the user's projects with an id above afterId, in id order
+     */
+    public List<CachedProject> findProjects(Long userId, Long afterId, Limit limit) {
+        if (catalogs == null) {
+            return projectRepository.findByUser_IdAndIdGreaterThanOrderByIdAsc(userId, afterId, limit).stream()
+                    .map(CatalogCache::toCached)
+                    .toList();
+        }
+        return catalogs.get(userId).projects().tailMap(afterId, false).values().stream()
+                .limit(limit.max())
+                .toList();
+    }
+
+    /**
+     * @return the tasks of an owned project with an id above afterId, in id order
+     */
+    public List<CachedTask> findTasks(Long userId, Long projectId, Long afterId, Limit limit) {
+        if (catalogs == null) {
+            return taskRepository.findByProject_IdAndIdGreaterThanOrderByIdAsc(projectId, afterId, limit).stream()
+                    .map(CatalogCache::toCached)
+                    .toList();
+        }
+        return catalogs.get(userId).tasksByProject().getOrDefault(projectId, Collections.emptyNavigableMap())
+                .tailMap(afterId, false).values().stream()
+                .limit(limit.max())
+                .toList();
+    }
+
+    public CollectionVersion projectsVersion(Long userId) {
+        if (catalogs == null) {
+            CollectionVersionProjection version = projectRepository.findVersionByUserId(userId);
+            return new CollectionVersion(version.getCount(), version.getChangeSum(), version.getLastModified());
+        }
+        return catalogs.get(userId).projectsVersion();
+    }
+
+    /**
+     * @return the version of an owned project's task list; callers check ownership first, an unknown project
+     * reads as empty
+     */
+    public CollectionVersion tasksVersion(Long userId, Long projectId) {
+        if (catalogs == null) {
+            CollectionVersionProjection version = taskRepository.findVersionByProjectIdAndUserId(projectId, userId);
+            return new CollectionVersion(version.getCount(), version.getChangeSum(), version.getLastModified());
+        }
+        return catalogs.get(userId).tasksVersions().getOrDefault(projectId, EMPTY);
+    }
+
+    public void invalidate(Long userId) {
+        if (catalogs != null) {
+            catalogs.invalidate(userId);
+        }
+    }
+
+    public void invalidateAll() {
+        if (catalogs != null) {
+            catalogs.invalidateAll();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDisabled(UserDisabledEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * Reads from the primary: a load typically follows an invalidation for a change that was just committed there,
+     * which a lagging replica would hand back in its old state for a whole TTL. Catalog lookups are the first
+     * statement of every read path that uses them, so the pin still decides which database the transaction uses.
+     */
+    private Catalog load(Long userId) {
+        return PrimaryDataSourcePin.callOnPrimary(() -> loadCatalog(userId));
+    }
+
+    private Catalog loadCatalog(Long userId) {
+        NavigableMap<Long, CachedProject> projects = new TreeMap<>();
+        Map<Long, CachedTask> tasks = new HashMap<>();
+        Map<Long, NavigableMap<Long, CachedTask>> tasksByProject = new HashMap<>();
+
+        for (CatalogRowProjection row : projectRepository.findCatalogByUserId(userId)) {
+            projects.computeIfAbsent(row.getProjectId(), id -> new CachedProject(
+                    id, userId, row.getProjectName(), row.getHourlyCost(), row.getProjectCreatedAt(), row.getProjectUpdatedAt(),
+                    row.getProjectChangeVersion()));
+            if (row.getTaskId() != null) {
+                CachedTask task = new CachedTask(row.getTaskId(), row.getProjectId(), row.getTaskName(), row.getTaskCreatedAt(),
+                        row.getTaskUpdatedAt(), row.getTaskChangeVersion());
+                tasks.put(task.id(), task);
+                tasksByProject.computeIfAbsent(task.projectId(), id -> new TreeMap<>()).put(task.id(), task);
+            }
+        }
+
+        Map<Long, CollectionVersion> tasksVersions = new HashMap<>();
+        tasksByProject.forEach((projectId, projectTasks) ->
+                tasksVersions.put(projectId, version(projectTasks.values(), CachedTask::changeVersion, CachedTask::updatedAt)));
+        return new Catalog(projects, tasks, tasksByProject,
+                version(projects.values(), CachedProject::changeVersion, CachedProject::updatedAt), tasksVersions);
+    }
+
+    private static <T> CollectionVersion version(Collection<T> items, Function<T, Long> changeVersion,
+                                                 Function<T, LocalDateTime> updatedAt) {
+        long changeSum = items.stream()
+                .map(changeVersion)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sum();
+        LocalDateTime lastModified = items.stream()
+                .map(updatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new CollectionVersion(items.size(), changeSum, lastModified);
+    }
+
+    private static CachedProject toCached(Project project) {
+        return new CachedProject(project.getId(), project.getUser().getId(), project.getName(), project.getHourlyCost(),
+                project.getCreatedAt(), project.getUpdatedAt(), project.getChangeVersion());
+    }
+
+    private static CachedTask toCached(Task task) {
+        return new CachedTask(task.getId(), task.getProject().getId(), task.getName(), task.getCreatedAt(), task.getUpdatedAt(),
+                task.getChangeVersion());
+    }
+
+    public record CachedProject(Long id, Long userId, String name, BigDecimal hourlyCost, LocalDateTime createdAt,
+                                LocalDateTime updatedAt, Long changeVersion) {
+    }
+
+    public record CachedTask(Long id, Long projectId, String name, LocalDateTime createdAt, LocalDateTime updatedAt,
+                             Long changeVersion) {
+    }
+
+    private record Catalog(NavigableMap<Long, CachedProject> projects, Map<Long, CachedTask> tasks,
+                           Map<Long, NavigableMap<Long, CachedTask>> tasksByProject,
+                           CollectionVersion projectsVersion, Map<Long, CollectionVersion> tasksVersions) {
+
+        int size() {
+            return 1 + projects.size() + tasks.size();
+        }
+    }
+}
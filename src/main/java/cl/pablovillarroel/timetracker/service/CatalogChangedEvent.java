@@ -0,0 +1,8 @@
+package cl.pablovillarroel.timetracker.service;
+
+/**
+ * Published inside a transaction that creates, updates or deletes one of the user's projects or tasks;
+ * {@link CatalogCache} drops the user's catalog once it commits.
+ */
+public record CatalogChangedEvent(Long userId) {
+}
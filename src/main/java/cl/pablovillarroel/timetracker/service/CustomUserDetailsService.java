@@ -1,5 +1,6 @@
 package cl.pablovillarroel.timetracker.service;
 
+import cl.pablovillarroel.timetracker.config.AuthenticatedUser;
 import cl.pablovillarroel.timetracker.model.User;
 import cl.pablovillarroel.timetracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -29,4 +30,11 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .accountLocked(!user.getEnabled())
                 .build();
     }
+
+    public AuthenticatedUser loadAuthenticatedUser(String email) throws UsernameNotFoundException {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        return new AuthenticatedUser(user.getId(), user.getEmail());
+    }
 }
@@ -0,0 +1,99 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.model.IdempotencyKey;
+import cl.pablovillarroel.timetracker.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Store of responses to requests sent with an Idempotency-Key header. Postgres is the source of truth, so a retry
+ * that lands on another node is still answered from the stored response; completed responses never change, which
+ * lets each node keep the recent ones in a bounded in-memory cache and replay them without a query.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<CacheKey, StoredResponse> completed;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.in-progress-timeout-seconds:60}") long inProgressTimeoutSeconds,
+                              @Value("${idempotency.cache.max-size:10000}") long cacheMaxSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.inProgressTimeout = Duration.ofSeconds(inProgressTimeoutSeconds);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @return the stored response for the key, or null when the key is unknown or its request is still in progress
+     */
+    @Transactional(readOnly = true)
+    public StoredResponse findCompleted(Long userId, String key) {
+        CacheKey cacheKey = new CacheKey(userId, key);
+        StoredResponse cached = completed.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        IdempotencyKey stored = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key).orElse(null);
+        if (stored == null || stored.getStatusCode() == null || stored.getCreatedAt().isBefore(LocalDateTime.now().minus(ttl))) {
+            return null;
+        }
+
+        StoredResponse response = new StoredResponse(stored.getRequestHash(), stored.getStatusCode(), stored.getContentType(), stored.getResponseBody());
+        completed.put(cacheKey, response);
+        return response;
+    }
+
+    /**
+     * @return true when this request may proceed, false when another request holds or has completed the key
+     */
+    @Transactional
+    public boolean claim(Long userId, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        return idempotencyKeyRepository.claim(userId, key, requestHash, now, now.minus(inProgressTimeout), now.minus(ttl)) > 0;
+    }
+
+    @Transactional
+    public void complete(Long userId, String key, StoredResponse response) {
+        idempotencyKeyRepository.complete(userId, key, response.statusCode(), response.contentType(), response.body());
+        completed.put(new CacheKey(userId, key), response);
+    }
+
+    /**
+     * Forgets a claim whose request failed in a way worth retrying, so the next attempt runs again.
+     */
+    @Transactional
+    public void release(Long userId, String key) {
+        idempotencyKeyRepository.release(userId, key);
+    }
+
+    @Scheduled(cron = "${idempotency.purge.cron:-}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        log.info("Purged {} expired idempotency keys", purged);
+    }
+
+    public record StoredResponse(String requestHash, int statusCode, String contentType, byte[] body) {
+    }
+
+    private record CacheKey(Long userId, String key) {
+    }
+}
@@ -0,0 +1,106 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for login attempts, one per client IP and one per email, so a credential-stuffing burst is cut off
+ * before it reaches the database or bcrypt.
+ *
+ * <p>Each bucket is a single AtomicLong holding the time at which it will be full again (the GCRA form of a token
+ * bucket): an attempt moves that time forward by one refill interval and is refused when it would land more than
+ * the bucket capacity ahead of now. Updates are a compare-and-set loop, so there are no locks, and the buckets live
+ * in a size-bounded Caffeine cache that evicts them once idle long enough to have refilled.
+ */
+@Service
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final Rate ipRate;
+    private final Rate emailRate;
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter ipRejections;
+    private final Counter emailRejections;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${login.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${login.rate-limit.ip.capacity:20}") int ipCapacity,
+                            @Value("${login.rate-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+                            @Value("${login.rate-limit.email.capacity:5}") int emailCapacity,
+                            @Value("${login.rate-limit.email.refill-per-minute:5}") int emailRefillPerMinute,
+                            @Value("${login.rate-limit.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.enabled = enabled;
+        this.ipRate = Rate.of(ipCapacity, ipRefillPerMinute);
+        this.emailRate = Rate.of(emailCapacity, emailRefillPerMinute);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofNanos(Math.max(ipRate.burstNanos(), emailRate.burstNanos())))
+                .build();
+        this.ipRejections = Counter.builder("login.rate-limit.rejections").tag("key", "ip").register(meterRegistry);
+        this.emailRejections = Counter.builder("login.rate-limit.rejections").tag("key", "email").register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from both buckets of the attempt.
+     *
+     * @throws TooManyRequestsException when either bucket is empty
+     */
+    public void check(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long waitNanos = tryAcquire("ip:" + clientIp, ipRate, now);
+        if (waitNanos > 0) {
+            ipRejections.increment();
+            throw tooManyAttempts(waitNanos);
+        }
+
+        waitNanos = tryAcquire("email:" + email.trim().toLowerCase(Locale.ROOT), emailRate, now);
+        if (waitNanos > 0) {
+            emailRejections.increment();
+            throw tooManyAttempts(waitNanos);
+        }
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise how long until the next one is available
+     */
+    private long tryAcquire(String key, Rate rate, long now) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + rate.intervalNanos();
+            if (next - now > rate.burstNanos()) {
+                return next - now - rate.burstNanos();
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private TooManyRequestsException tooManyAttempts(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyRequestsException("TOO_MANY_LOGIN_ATTEMPTS", "Too many login attempts, please retry later", retryAfterSeconds);
+    }
+
+    private record Rate(long intervalNanos, long burstNanos) {
+
+        static Rate of(int capacity, int refillPerMinute) {
+            long intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+            return new Rate(intervalNanos, intervalNanos * capacity);
+        }
+    }
+}
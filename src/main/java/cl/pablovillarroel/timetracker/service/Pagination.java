@@ -0,0 +1,133 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.PageResponse;
+import cl.pablovillarroel.timetracker.exception.BusinessException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination helpers shared by the list endpoints.
+ * Cursors are opaque to clients: a base64url encoding of the sort key of the last row of a page.
+ */
+final class Pagination {
+
+    static final int MAX_LIMIT = 200;
+
+    private static final char SEPARATOR = '|';
+
+    private Pagination() {
+    }
+
+    static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessException("INVALID_LIMIT", "Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    /**
+     * Fetches one row more than requested so the presence of a next page is known without a count query.
+     */
+    static Limit fetchLimit(int limit) {
+        return Limit.of(limit + 1);
+    }
+
+    static <E, R> PageResponse<R> toPage(List<E> rows, int limit, Function<E, R> mapper, Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+
+        return PageResponse.<R>builder()
+                .items(page.stream().map(mapper).toList())
+                .nextCursor(hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    static String encodeId(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    static Long decodeId(String cursor) {
+        try {
+            return Long.valueOf(decode(cursor));
+        } catch (NumberFormatException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    static String encodeTimeEntry(LocalDateTime startTime, Long id) {
+        return encode(startTime.toString() + SEPARATOR + id);
+    }
+
+    static TimeEntryCursor decodeTimeEntry(String cursor) {
+        String value = decode(cursor);
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw invalidCursor();
+        }
+
+        try {
+            return new TimeEntryCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    static String encodeChangeToken(ChangeToken token) {
+        return encode(String.valueOf(token.xid()) + SEPARATOR + token.version());
+    }
+
+    static ChangeToken decodeChangeToken(String token) {
+        String value = decode(token);
+        int separator = value.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw invalidCursor();
+        }
+
+        try {
+            return new ChangeToken(Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    private static BusinessException invalidCursor() {
+        return new BusinessException("INVALID_CURSOR", "Invalid pagination cursor");
+    }
+
+    /**
+     * Position in the change log: the writing transaction id and the change version of the last row a client has seen.
+     */
+    record ChangeToken(long xid, long version) implements Comparable<ChangeToken> {
+
+        static final ChangeToken INITIAL = new ChangeToken(0, 0);
+
+        @Override
+        public int compareTo(ChangeToken other) {
+            int byXid = Long.compare(xid, other.xid);
+            return byXid != 0 ? byXid : Long.compare(version, other.version);
+        }
+    }
+
+    record TimeEntryCursor(LocalDateTime startTime, Long id) {
+    }
+}
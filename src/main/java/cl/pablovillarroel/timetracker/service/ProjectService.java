@@ -1,13 +1,17 @@
 package cl.pablovillarroel.timetracker.service;
 
+import cl.pablovillarroel.timetracker.dto.CollectionVersion;
+import cl.pablovillarroel.timetracker.dto.PageResponse;
 import cl.pablovillarroel.timetracker.dto.ProjectRequest;
 import cl.pablovillarroel.timetracker.dto.ProjectResponse;
 import cl.pablovillarroel.timetracker.exception.ResourceNotFoundException;
 import cl.pablovillarroel.timetracker.model.Project;
-import cl.pablovillarroel.timetracker.model.User;
 import cl.pablovillarroel.timetracker.repository.ProjectRepository;
 import cl.pablovillarroel.timetracker.repository.UserRepository;
+import cl.pablovillarroel.timetracker.service.CatalogCache.CachedProject;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,86 +19,71 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "timetracker.service", histogram = true)
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<ProjectResponse> getProjectsByUserEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
+    @Transactional(readOnly = true)
+    public PageResponse<ProjectResponse> getProjectsByUserId(Long userId, String cursor, int limit) {
+        Pagination.validateLimit(limit);
 
-        List<Project> projects = projectRepository.findAll();
-        return projects.stream()
-                .filter(p -> p.getUser().getId().equals(user.getId()))
-                .map(this::mapToResponse)
-                .toList();
+        Long afterId = cursor == null ? 0L : Pagination.decodeId(cursor);
+        List<CachedProject> projects = catalogCache.findProjects(userId, afterId, Pagination.fetchLimit(limit));
+        return Pagination.toPage(projects, limit, this::mapToResponse, p -> Pagination.encodeId(p.id()));
     }
 
-    public ProjectResponse getProjectById(Long id, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Project project = projectRepository.findById(id)
+    @Transactional(readOnly = true)
+    public ProjectResponse getProjectById(Long id, Long userId) {
+        CachedProject project = catalogCache.findProject(userId, id)
                 .orElseThrow(() -> new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + id));
 
-        if (!project.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + id);
-        }
-
         return mapToResponse(project);
     }
 
     @Transactional
-    public ProjectResponse createProject(String email, ProjectRequest request) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
+    public ProjectResponse createProject(Long userId, ProjectRequest request) {
         Project project = Project.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .name(request.getName())
                 .hourlyCost(request.getHourlyCost())
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new CatalogChangedEvent(userId));
         return mapToResponse(savedProject);
     }
 
     @Transactional
-    public ProjectResponse updateProject(Long id, ProjectRequest request, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Project project = projectRepository.findById(id)
+    public ProjectResponse updateProject(Long id, ProjectRequest request, Long userId) {
+        Project project = projectRepository.findByIdAndUser_Id(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + id));
 
-        if (!project.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + id);
-        }
-
         project.setName(request.getName());
         project.setHourlyCost(request.getHourlyCost());
 
         Project updatedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new CatalogChangedEvent(userId));
         return mapToResponse(updatedProject);
     }
 
     @Transactional
-    public void deleteProject(Long id, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + id));
-
-        if (!project.getUser().getId().equals(user.getId())) {
+    public void deleteProject(Long id, Long userId) {
+        if (projectRepository.bulkDeleteByIdAndUserId(id, userId) == 0) {
             throw new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + id);
         }
+        eventPublisher.publishEvent(new CatalogChangedEvent(userId));
+    }
 
-        projectRepository.deleteById(id);
+    @Transactional(readOnly = true)
+    public CollectionVersion getProjectsVersion(Long userId) {
+        return catalogCache.projectsVersion(userId);
     }
 
-    private ProjectResponse mapToResponse(Project project) {
+    ProjectResponse mapToResponse(Project project) {
         return ProjectResponse.builder()
                 .id(project.getId())
                 .userId(project.getUser().getId())
@@ -104,4 +93,15 @@ public class ProjectService {
                 .updatedAt(project.getUpdatedAt())
                 .build();
     }
+
+    ProjectResponse mapToResponse(CachedProject project) {
+        return ProjectResponse.builder()
+                .id(project.id())
+                .userId(project.userId())
+                .name(project.name())
+                .hourlyCost(project.hourlyCost())
+                .createdAt(project.createdAt())
+                .updatedAt(project.updatedAt())
+                .build();
+    }
 }
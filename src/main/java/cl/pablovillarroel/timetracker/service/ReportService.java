@@ -0,0 +1,72 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.ReportGranularity;
+import cl.pablovillarroel.timetracker.dto.TimeReportResponse;
+import cl.pablovillarroel.timetracker.dto.TimeReportRow;
+import cl.pablovillarroel.timetracker.exception.BusinessException;
+import cl.pablovillarroel.timetracker.repository.TimeEntryDailyRollupRepository;
+import cl.pablovillarroel.timetracker.repository.TimeReportProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    private final TimeEntryDailyRollupRepository rollupRepository;
+
+    /**
+     * Sums tracked seconds and cost of the user's finished time entries per project, task and period.
+     * Both dates are inclusive; entries are attributed to the period their start time falls in.
+     * Reads the daily rollups, so the cost grows with the number of days in range rather than entries.
+     */
+    @Transactional(readOnly = true)
+    public TimeReportResponse getTimeReport(Long userId, LocalDate startDate, LocalDate endDate, ReportGranularity granularity) {
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessException("INVALID_DATE_RANGE", "End date must not be before start date");
+        }
+
+        List<TimeReportRow> rows = rollupRepository.aggregateByPeriod(
+                        userId,
+                        granularity.name().toLowerCase(Locale.ROOT),
+                        startDate,
+                        endDate)
+                .stream()
+                .map(this::mapToRow)
+                .toList();
+
+        long totalSeconds = 0;
+        BigDecimal totalCost = BigDecimal.ZERO;
+        for (TimeReportRow row : rows) {
+            totalSeconds += row.getTotalSeconds();
+            totalCost = totalCost.add(row.getTotalCost());
+        }
+
+        return TimeReportResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .granularity(granularity)
+                .totalSeconds(totalSeconds)
+                .totalCost(totalCost)
+                .rows(rows)
+                .build();
+    }
+
+    private TimeReportRow mapToRow(TimeReportProjection projection) {
+        return TimeReportRow.builder()
+                .period(projection.getPeriod())
+                .projectId(projection.getProjectId())
+                .projectName(projection.getProjectName())
+                .taskId(projection.getTaskId())
+                .taskName(projection.getTaskName())
+                .totalSeconds(projection.getTotalSeconds())
+                .totalCost(projection.getTotalCost())
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.config.PrimaryDataSourcePin;
+import cl.pablovillarroel.timetracker.dto.SyncDeletion;
+import cl.pablovillarroel.timetracker.dto.SyncResponse;
+import cl.pablovillarroel.timetracker.model.Project;
+import cl.pablovillarroel.timetracker.model.SyncTombstone;
+import cl.pablovillarroel.timetracker.model.Task;
+import cl.pablovillarroel.timetracker.model.TimeEntry;
+import cl.pablovillarroel.timetracker.repository.ProjectRepository;
+import cl.pablovillarroel.timetracker.repository.SyncTombstoneRepository;
+import cl.pablovillarroel.timetracker.repository.TaskRepository;
+import cl.pablovillarroel.timetracker.repository.TimeEntryRepository;
+import cl.pablovillarroel.timetracker.service.Pagination.ChangeToken;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Delta sync over the change_xid/change_version columns maintained by the V13 triggers.
+ *
+ * <p>A plain sequence is not enough to page through changes: a transaction that took a lower version but committed
+ * after a client synced would never be returned. Rows are therefore ordered by the id of the transaction that wrote
+ * them, and only transactions below the oldest one still running are read, so everything behind a token has
+ * committed and nothing can appear there later.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "timetracker.service", histogram = true)
+public class SyncService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TimeEntryRepository timeEntryRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final TimeEntryService timeEntryService;
+
+    @Value("${sync.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays;
+
+    /**
+     * Reads the primary: change tokens are positions in its transaction history and the purge watermark decides
+     * whether a client must resync, so neither may come from a replica that is behind what the client has seen.
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse getChanges(Long userId, String since, int limit) {
+        return PrimaryDataSourcePin.callOnPrimary(() -> readChanges(userId, since, limit));
+    }
+
+    private SyncResponse readChanges(Long userId, String since, int limit) {
+        Pagination.validateLimit(limit);
+        ChangeToken from = since != null ? Pagination.decodeChangeToken(since) : ChangeToken.INITIAL;
+
+        if (since != null && from.xid() < tombstoneRepository.findPurgedBeforeXid()) {
+            return SyncResponse.builder().resetRequired(true).build();
+        }
+
+        // Read before the rows so that every transaction below it is visible to the queries that follow
+        long stableXid = tombstoneRepository.findStableXid();
+        Limit fetchLimit = Pagination.fetchLimit(limit);
+
+        List<Change> changes = new ArrayList<>();
+        projectRepository.findChanges(userId, from.xid(), from.version(), stableXid, fetchLimit)
+                .forEach(project -> changes.add(new Change(new ChangeToken(project.getChangeXid(), project.getChangeVersion()), project)));
+        taskRepository.findChanges(userId, from.xid(), from.version(), stableXid, fetchLimit)
+                .forEach(task -> changes.add(new Change(new ChangeToken(task.getChangeXid(), task.getChangeVersion()), task)));
+        timeEntryRepository.findChanges(userId, from.xid(), from.version(), stableXid, fetchLimit)
+                .forEach(timeEntry -> changes.add(new Change(new ChangeToken(timeEntry.getChangeXid(), timeEntry.getChangeVersion()), timeEntry)));
+        tombstoneRepository.findChanges(userId, from.xid(), from.version(), stableXid, fetchLimit)
+                .forEach(tombstone -> changes.add(new Change(new ChangeToken(tombstone.getChangeXid(), tombstone.getChangeVersion()), tombstone)));
+        changes.sort(Comparator.comparing(Change::token));
+
+        boolean hasMore = changes.size() > limit;
+        List<Change> page = hasMore ? changes.subList(0, limit) : changes;
+
+        SyncResponse response = SyncResponse.builder().hasMore(hasMore).build();
+        for (Change change : page) {
+            switch (change.row()) {
+                case Project project -> response.getProjects().add(projectService.mapToResponse(project));
+                case Task task -> response.getTasks().add(taskService.mapToResponse(task));
+                case TimeEntry timeEntry -> response.getTimeEntries().add(timeEntryService.mapToResponse(timeEntry));
+                case SyncTombstone tombstone -> response.getDeleted().add(new SyncDeletion(tombstone.getEntityType(), tombstone.getEntityId()));
+                default -> throw new IllegalStateException("Unexpected change " + change.row());
+            }
+        }
+
+        ChangeToken next = hasMore ? page.get(page.size() - 1).token() : new ChangeToken(stableXid, 0);
+        response.setNextToken(Pagination.encodeChangeToken(next.compareTo(from) > 0 ? next : from));
+        return response;
+    }
+
+    /**
+     * Drops tombstones past the retention window. Clients holding a token from before the purge are asked to
+     * resync instead of silently keeping rows that were deleted.
+     */
+    @Scheduled(cron = "${sync.tombstone-purge.cron:-}")
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        tombstoneRepository.raisePurgedBeforeXid(cutoff);
+        int purged = tombstoneRepository.deleteByDeletedAtBefore(cutoff);
+
+        log.info("Purged {} sync tombstones deleted before {}", purged, cutoff);
+    }
+
+    private record Change(ChangeToken token, Object row) {
+    }
+}
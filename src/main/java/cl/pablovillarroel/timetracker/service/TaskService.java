@@ -1,15 +1,18 @@
 package cl.pablovillarroel.timetracker.service;
 
+import cl.pablovillarroel.timetracker.dto.CollectionVersion;
+import cl.pablovillarroel.timetracker.dto.PageResponse;
 import cl.pablovillarroel.timetracker.dto.TaskRequest;
 import cl.pablovillarroel.timetracker.dto.TaskResponse;
 import cl.pablovillarroel.timetracker.exception.ResourceNotFoundException;
 import cl.pablovillarroel.timetracker.model.Project;
 import cl.pablovillarroel.timetracker.model.Task;
-import cl.pablovillarroel.timetracker.model.User;
 import cl.pablovillarroel.timetracker.repository.ProjectRepository;
 import cl.pablovillarroel.timetracker.repository.TaskRepository;
-import cl.pablovillarroel.timetracker.repository.UserRepository;
+import cl.pablovillarroel.timetracker.service.CatalogCache.CachedTask;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,99 +20,80 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "timetracker.service", histogram = true)
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<TaskResponse> getTasksByProjectId(Long projectId, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
+    @Transactional(readOnly = true)
+    public PageResponse<TaskResponse> getTasksByProjectId(Long projectId, Long userId, String cursor, int limit) {
+        Pagination.validateLimit(limit);
 
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + projectId));
-
-        if (!project.getUser().getId().equals(user.getId())) {
+        if (!catalogCache.ownsProject(userId, projectId)) {
             throw new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + projectId);
         }
 
-        List<Task> tasks = taskRepository.findAll();
-        return tasks.stream()
-                .filter(t -> t.getProject().getId().equals(projectId))
-                .map(this::mapToResponse)
-                .toList();
+        Long afterId = cursor == null ? 0L : Pagination.decodeId(cursor);
+        List<CachedTask> tasks = catalogCache.findTasks(userId, projectId, afterId, Pagination.fetchLimit(limit));
+        return Pagination.toPage(tasks, limit, this::mapToResponse, t -> Pagination.encodeId(t.id()));
     }
 
-    public TaskResponse getTaskById(Long id, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Task task = taskRepository.findById(id)
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long id, Long userId) {
+        CachedTask task = catalogCache.findTask(userId, id)
                 .orElseThrow(() -> new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + id));
 
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + id);
-        }
-
         return mapToResponse(task);
     }
 
     @Transactional
-    public TaskResponse createTask(String email, TaskRequest request) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Project project = projectRepository.findById(request.getProjectId())
+    public TaskResponse createTask(Long userId, TaskRequest request) {
+        Project project = projectRepository.findByIdAndUser_Id(request.getProjectId(), userId)
                 .orElseThrow(() -> new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + request.getProjectId()));
 
-        if (!project.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + request.getProjectId());
-        }
-
         Task task = Task.builder()
                 .project(project)
                 .name(request.getName())
                 .build();
 
         Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(new CatalogChangedEvent(userId));
         return mapToResponse(savedTask);
     }
 
     @Transactional
-    public TaskResponse updateTask(Long id, TaskRequest request, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Task task = taskRepository.findById(id)
+    public TaskResponse updateTask(Long id, TaskRequest request, Long userId) {
+        Task task = taskRepository.findByIdAndProject_User_Id(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + id));
 
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + id);
-        }
-
         task.setName(request.getName());
 
         Task updatedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(new CatalogChangedEvent(userId));
         return mapToResponse(updatedTask);
     }
 
     @Transactional
-    public void deleteTask(Long id, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + id));
-
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
+    public void deleteTask(Long id, Long userId) {
+        if (taskRepository.bulkDeleteByIdAndUserId(id, userId) == 0) {
             throw new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + id);
         }
+        eventPublisher.publishEvent(new CatalogChangedEvent(userId));
+    }
 
-        taskRepository.deleteById(id);
+    @Transactional(readOnly = true)
+    public CollectionVersion getTasksVersion(Long projectId, Long userId) {
+        // Checked before the version, or a matching If-None-Match would answer 304 for someone else's project
+        if (!catalogCache.ownsProject(userId, projectId)) {
+            throw new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + projectId);
+        }
+        return catalogCache.tasksVersion(userId, projectId);
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    TaskResponse mapToResponse(Task task) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .projectId(task.getProject().getId())
@@ -118,4 +102,14 @@ public class TaskService {
                 .updatedAt(task.getUpdatedAt())
                 .build();
     }
+
+    TaskResponse mapToResponse(CachedTask task) {
+        return TaskResponse.builder()
+                .id(task.id())
+                .projectId(task.projectId())
+                .name(task.name())
+                .createdAt(task.createdAt())
+                .updatedAt(task.updatedAt())
+                .build();
+    }
 }
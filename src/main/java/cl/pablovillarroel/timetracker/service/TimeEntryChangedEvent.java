@@ -0,0 +1,12 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.TimeEntryEvent;
+
+import java.util.List;
+
+/**
+ * Published by {@link TimeEntryService} inside the writing transaction and delivered to the user's open event
+ * streams once it commits.
+ */
+public record TimeEntryChangedEvent(Long userId, List<TimeEntryEvent> events) {
+}
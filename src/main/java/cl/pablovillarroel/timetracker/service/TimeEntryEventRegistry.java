@@ -0,0 +1,156 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.TimeEntryEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of time entry changes to the server-sent event streams of their owner.
+ *
+ * <p>An idle stream is only an entry in this map plus a suspended async request; it holds no thread. Streams are
+ * dropped when the client disconnects, the emitter times out or a write fails, and a periodic heartbeat comment
+ * makes dead connections fail promptly and keeps proxies from closing idle ones. Only clients connected to this
+ * instance are reached.
+ *
+ * <p>Writes to a user's streams, events and heartbeats alike, run one at a time on the application task executor,
+ * chained per user in the order they were queued. A STARTED followed quickly by a STOPPED therefore arrives in that
+ * order even though the two commits are handled by different threads.
+ */
+@Slf4j
+@Service
+public class TimeEntryEventRegistry {
+
+    private final Map<Long, Set<SseEmitter>> emittersByUser = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Void>> deliveries = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AsyncTaskExecutor executor;
+    private final long emitterTimeoutMs;
+
+    public TimeEntryEventRegistry(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                                  @Value("${sse.emitter-timeout-ms:1800000}") long emitterTimeoutMs, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        Gauge.builder("sse.connections", connections, AtomicInteger::get)
+                .description("Open time entry event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(ex -> remove(userId, emitter));
+
+        emittersByUser.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> userEmitters = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            userEmitters.add(emitter);
+            return userEmitters;
+        });
+        connections.incrementAndGet();
+        return emitter;
+    }
+
+    /**
+     * Queues an event for one stream behind whatever is already queued for the user.
+     */
+    public void send(Long userId, SseEmitter emitter, TimeEntryEvent event) {
+        enqueue(userId, () -> write(userId, emitter, event));
+    }
+
+    private void write(Long userId, SseEmitter emitter, TimeEntryEvent event) {
+        try {
+            emitter.send(SseEmitter.event().name(event.getType().name()).data(event));
+        } catch (IOException | IllegalStateException ex) {
+            drop(userId, emitter, ex);
+        }
+    }
+
+    /**
+     * Runs after the writing transaction commits, so clients never see a change that was rolled back, and queues the
+     * sends instead of making them on the request thread, so a slow client does not hold up the writer.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTimeEntryChanged(TimeEntryChangedEvent changed) {
+        if (!emittersByUser.containsKey(changed.userId())) {
+            return;
+        }
+
+        enqueue(changed.userId(), () -> {
+            for (SseEmitter emitter : emitters(changed.userId())) {
+                for (TimeEntryEvent event : changed.events()) {
+                    write(changed.userId(), emitter, event);
+                }
+            }
+        });
+    }
+
+    /**
+     * Only touches the in-memory map: a heartbeat needs no lookup of the user or their entries.
+     */
+    @Scheduled(fixedRateString = "${sse.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        for (Long userId : emittersByUser.keySet()) {
+            enqueue(userId, () -> {
+                for (SseEmitter emitter : emitters(userId)) {
+                    try {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } catch (IOException | IllegalStateException ex) {
+                        drop(userId, emitter, ex);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs the task after everything already queued for the user. A failed task is logged and does not stop the ones
+     * behind it; the chain is forgotten once its last task has run.
+     */
+    private void enqueue(Long userId, Runnable task) {
+        CompletableFuture<Void> queued = deliveries.compute(userId, (id, tail) ->
+                (tail != null ? tail : CompletableFuture.<Void>completedFuture(null))
+                        .thenRunAsync(task, executor)
+                        .exceptionally(ex -> {
+                            log.warn("Delivering events to user {} failed", userId, ex);
+                            return null;
+                        }));
+        queued.whenComplete((result, ex) -> deliveries.remove(userId, queued));
+    }
+
+    private List<SseEmitter> emitters(Long userId) {
+        Set<SseEmitter> emitters = emittersByUser.get(userId);
+        return emitters != null ? List.copyOf(emitters) : List.of();
+    }
+
+    private void drop(Long userId, SseEmitter emitter, Exception ex) {
+        log.debug("Dropping event stream of user {}: {}", userId, ex.getMessage());
+        remove(userId, emitter);
+        emitter.completeWithError(ex);
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emittersByUser.computeIfPresent(userId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
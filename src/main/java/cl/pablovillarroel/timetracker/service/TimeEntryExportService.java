@@ -0,0 +1,112 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.ExportFormat;
+import cl.pablovillarroel.timetracker.dto.TimeEntryExportRow;
+import cl.pablovillarroel.timetracker.exception.BusinessException;
+import cl.pablovillarroel.timetracker.exception.ResourceNotFoundException;
+import cl.pablovillarroel.timetracker.repository.TimeEntryExportProjection;
+import cl.pablovillarroel.timetracker.repository.TimeEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's time entries as CSV or newline-delimited JSON while they are read from a database cursor,
+ * so memory use stays flat however large the date range is.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimeEntryExportService {
+
+    private static final String CSV_HEADER = "id,project_id,project_name,task_id,task_name,start_time,end_time,duration_seconds,cost";
+
+    private final TimeEntryRepository timeEntryRepository;
+    private final CatalogCache catalogCache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Checks the request up front: once streaming has started the status is committed and errors can no longer
+     * be reported as an error response.
+     */
+    @Transactional(readOnly = true)
+    public void validateExport(Long userId, Long projectId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessException("INVALID_DATE_RANGE", "End date must not be before start date");
+        }
+
+        if (projectId != null && !catalogCache.ownsProject(userId, projectId)) {
+            throw new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + projectId);
+        }
+    }
+
+    /**
+     * Streams the entries that start within the given days, both inclusive. Runs on the async request thread,
+     * in its own read-only transaction so the driver can use a cursor.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long userId, Long projectId, LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<TimeEntryExportProjection> rows = timeEntryRepository.streamForExport(
+                userId, projectId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+            Iterator<TimeEntryExportProjection> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TimeEntryExportProjection row = iterator.next();
+                writer.write(format == ExportFormat.CSV ? toCsv(row) : objectMapper.writeValueAsString(toRow(row)));
+                writer.write('\n');
+            }
+        }
+
+        writer.flush();
+    }
+
+    private String toCsv(TimeEntryExportProjection row) {
+        return String.join(",",
+                String.valueOf(row.getId()),
+                String.valueOf(row.getProjectId()),
+                escapeCsv(row.getProjectName()),
+                String.valueOf(row.getTaskId()),
+                escapeCsv(row.getTaskName()),
+                String.valueOf(row.getStartTime()),
+                row.getEndTime() != null ? row.getEndTime().toString() : "",
+                row.getDuration() != null ? row.getDuration().toString() : "",
+                row.getCost() != null ? row.getCost().toPlainString() : "");
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private TimeEntryExportRow toRow(TimeEntryExportProjection row) {
+        return TimeEntryExportRow.builder()
+                .id(row.getId())
+                .projectId(row.getProjectId())
+                .projectName(row.getProjectName())
+                .taskId(row.getTaskId())
+                .taskName(row.getTaskName())
+                .startTime(row.getStartTime())
+                .endTime(row.getEndTime())
+                .duration(row.getDuration())
+                .cost(row.getCost())
+                .build();
+    }
+}
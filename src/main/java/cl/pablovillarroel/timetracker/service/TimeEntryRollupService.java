@@ -0,0 +1,200 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.model.TimeEntry;
+import cl.pablovillarroel.timetracker.repository.RollupMismatchProjection;
+import cl.pablovillarroel.timetracker.repository.TimeEntryDailyRollupRepository;
+import cl.pablovillarroel.timetracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Maintains the time_entry_daily_rollups table.
+ * Only finished entries are counted, attributed to the day their start time falls on.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimeEntryRollupService {
+
+    private final TimeEntryDailyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${rollup.rebuild.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${rollup.consistency-check.repair:false}")
+    private boolean repairMismatches;
+
+    /**
+     * Adds a time entry to its rollup row. Must run inside the transaction that writes the entry.
+     */
+    public void add(TimeEntry timeEntry) {
+        apply(timeEntry, 1);
+    }
+
+    /**
+     * Removes a time entry from its rollup row, using the entry's values before they are changed or deleted.
+     * Must run inside the transaction that writes the entry.
+     */
+    public void subtract(TimeEntry timeEntry) {
+        apply(timeEntry, -1);
+    }
+
+    /**
+     * Adds a finished time entry written without going through the entity, for example by a bulk statement.
+     */
+    public void add(Long userId, Long projectId, Long taskId, LocalDateTime startTime, Long duration, BigDecimal cost) {
+        apply(userId, projectId, taskId, startTime, duration, cost, 1);
+    }
+
+    /**
+     * Adds a batch of new time entries, merging entries that fall on the same rollup row into a single upsert.
+     * Must run inside the transaction that writes the entries.
+     */
+    public void addAll(List<TimeEntry> timeEntries) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        for (TimeEntry timeEntry : timeEntries) {
+            if (timeEntry.getEndTime() == null) {
+                continue;
+            }
+            RollupKey key = new RollupKey(
+                    timeEntry.getUser().getId(),
+                    timeEntry.getStartTime().toLocalDate(),
+                    timeEntry.getTask().getProject().getId(),
+                    timeEntry.getTask().getId());
+            deltas.computeIfAbsent(key, k -> new Delta()).add(timeEntry.getDuration(), timeEntry.getCost());
+        }
+
+        deltas.forEach((key, delta) -> rollupRepository.applyDelta(
+                key.userId(), key.day(), key.projectId(), key.taskId(), delta.seconds, delta.cost, delta.count));
+    }
+
+    private void apply(TimeEntry timeEntry, int sign) {
+        if (timeEntry.getEndTime() == null) {
+            return;
+        }
+
+        apply(timeEntry.getUser().getId(),
+                timeEntry.getTask().getProject().getId(),
+                timeEntry.getTask().getId(),
+                timeEntry.getStartTime(),
+                timeEntry.getDuration(),
+                timeEntry.getCost(),
+                sign);
+    }
+
+    private void apply(Long userId, Long projectId, Long taskId, LocalDateTime startTime, Long duration, BigDecimal cost, int sign) {
+        long seconds = duration != null ? duration : 0L;
+        BigDecimal amount = cost != null ? cost : BigDecimal.ZERO;
+
+        rollupRepository.applyDelta(
+                userId,
+                startTime.toLocalDate(),
+                projectId,
+                taskId,
+                sign * seconds,
+                sign > 0 ? amount : amount.negate(),
+                sign);
+    }
+
+    /**
+     * Recomputes every rollup row from the raw time entries, one transaction per chunk of users.
+     * Best run while writes are quiet; drift caused by concurrent writes is reported by the consistency check.
+     */
+    @Scheduled(cron = "${rollup.rebuild.cron:-}")
+    public void rebuildAll() {
+        long startedAt = System.currentTimeMillis();
+        int[] rows = {0};
+
+        forEachUserChunk(userIds -> rows[0] += rebuildUsers(userIds));
+
+        log.info("Rebuilt {} time entry rollup rows in {} ms", rows[0], System.currentTimeMillis() - startedAt);
+    }
+
+    @Scheduled(cron = "${rollup.consistency-check.cron:-}")
+    public void scheduledConsistencyCheck() {
+        checkConsistency();
+    }
+
+    /**
+     * Compares the rollups against an aggregation of the raw time entries, chunk by chunk.
+     *
+     * @return the rows that disagree, rebuilt afterwards when rollup.consistency-check.repair is enabled
+     */
+    public List<RollupMismatchProjection> checkConsistency() {
+        List<RollupMismatchProjection> mismatches = new ArrayList<>();
+
+        forEachUserChunk(userIds -> {
+            List<RollupMismatchProjection> chunkMismatches = rollupRepository.findMismatchesForUsers(userIds);
+            if (chunkMismatches.isEmpty()) {
+                return;
+            }
+
+            for (RollupMismatchProjection mismatch : chunkMismatches) {
+                log.warn("Time entry rollup mismatch for user {} task {} on {}: rollup {}s/{}/{} entries, actual {}s/{}/{} entries",
+                        mismatch.getUserId(), mismatch.getTaskId(), mismatch.getDay(),
+                        mismatch.getRollupSeconds(), mismatch.getRollupCost(), mismatch.getRollupCount(),
+                        mismatch.getActualSeconds(), mismatch.getActualCost(), mismatch.getActualCount());
+            }
+            mismatches.addAll(chunkMismatches);
+
+            if (repairMismatches) {
+                rebuildUsers(chunkMismatches.stream().map(RollupMismatchProjection::getUserId).distinct().toList());
+            }
+        });
+
+        log.info("Time entry rollup consistency check found {} mismatched rows", mismatches.size());
+        return mismatches;
+    }
+
+    private int rebuildUsers(List<Long> userIds) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            rollupRepository.deleteByUserIds(userIds);
+            return rollupRepository.insertAggregatesForUsers(userIds);
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    private void forEachUserChunk(Consumer<List<Long>> action) {
+        Long afterId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, Limit.of(chunkSize));
+            if (userIds.isEmpty()) {
+                return;
+            }
+            action.accept(userIds);
+            afterId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == chunkSize);
+    }
+
+    private record RollupKey(Long userId, LocalDate day, Long projectId, Long taskId) {
+    }
+
+    private static final class Delta {
+        private long seconds;
+        private BigDecimal cost = BigDecimal.ZERO;
+        private int count;
+
+        void add(Long duration, BigDecimal amount) {
+            seconds += duration != null ? duration : 0L;
+            cost = amount != null ? cost.add(amount) : cost;
+            count++;
+        }
+    }
+}
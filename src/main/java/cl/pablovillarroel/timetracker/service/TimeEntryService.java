@@ -1,6 +1,14 @@
 package cl.pablovillarroel.timetracker.service;
 
+import cl.pablovillarroel.timetracker.dto.BatchItemStatus;
+import cl.pablovillarroel.timetracker.dto.BatchTimeEntryItemResult;
+import cl.pablovillarroel.timetracker.dto.BatchTimeEntryRequest;
+import cl.pablovillarroel.timetracker.dto.BatchTimeEntryResponse;
+import cl.pablovillarroel.timetracker.dto.CollectionVersion;
+import cl.pablovillarroel.timetracker.dto.PageResponse;
 import cl.pablovillarroel.timetracker.dto.StartTimeEntryRequest;
+import cl.pablovillarroel.timetracker.dto.TimeEntryEvent;
+import cl.pablovillarroel.timetracker.dto.TimeEntryEventType;
 import cl.pablovillarroel.timetracker.dto.TimeEntryRequest;
 import cl.pablovillarroel.timetracker.dto.TimeEntryResponse;
 import cl.pablovillarroel.timetracker.exception.BusinessException;
@@ -8,153 +16,174 @@ import cl.pablovillarroel.timetracker.exception.ResourceNotFoundException;
 import cl.pablovillarroel.timetracker.model.Task;
 import cl.pablovillarroel.timetracker.model.TimeEntry;
 import cl.pablovillarroel.timetracker.model.User;
+import cl.pablovillarroel.timetracker.repository.CollectionVersionProjection;
+import cl.pablovillarroel.timetracker.repository.StoppedTimeEntryProjection;
 import cl.pablovillarroel.timetracker.repository.TaskRepository;
 import cl.pablovillarroel.timetracker.repository.TimeEntryRepository;
 import cl.pablovillarroel.timetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "timetracker.service", histogram = true)
 public class TimeEntryService {
 
     private final TimeEntryRepository timeEntryRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TimeEntryRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogCache catalogCache;
+    private final Validator validator;
 
     @Transactional
-    public TimeEntryResponse startTimeEntry(String email, StartTimeEntryRequest request) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Task task = taskRepository.findById(request.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + request.getTaskId()));
-
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + request.getTaskId());
-        }
-
-        if (timeEntryRepository.findFirstByUser_IdAndEndTimeIsNullOrderByStartTimeDesc(user.getId()).isPresent()) {
-            throw new BusinessException("ACTIVE_TIME_ENTRY_EXISTS", "You already have an active time entry");
-        }
-
-        TimeEntry timeEntry = TimeEntry.builder()
-                .task(task)
-                .user(user)
-                .startTime(LocalDateTime.now())
+    public TimeEntryResponse startTimeEntry(Long userId, StartTimeEntryRequest request) {
+        LocalDateTime startTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        Long id = timeEntryRepository.insertActiveIfNone(userId, request.getTaskId(), startTime)
+                .orElseThrow(() -> taskRepository.existsByIdAndProject_User_Id(request.getTaskId(), userId)
+                        ? new BusinessException("ACTIVE_TIME_ENTRY_EXISTS", "You already have an active time entry")
+                        : new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + request.getTaskId()));
+
+        TimeEntryResponse response = TimeEntryResponse.builder()
+                .id(id)
+                .taskId(request.getTaskId())
+                .userId(userId)
+                .startTime(startTime)
                 .build();
-
-        TimeEntry savedTimeEntry = timeEntryRepository.save(timeEntry);
-        return mapToResponse(savedTimeEntry);
+        publish(userId, TimeEntryEventType.STARTED, response);
+        return response;
     }
 
     @Transactional
-    public TimeEntryResponse stopTimeEntry(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
+    public TimeEntryResponse stopTimeEntry(Long userId) {
+        LocalDateTime endTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
-        TimeEntry timeEntry = timeEntryRepository.findFirstByUser_IdAndEndTimeIsNullOrderByStartTimeDesc(user.getId())
+        StoppedTimeEntryProjection stopped = timeEntryRepository.stopActive(userId, endTime)
                 .orElseThrow(() -> new BusinessException("NO_ACTIVE_TIME_ENTRY", "No active time entry found"));
 
-        timeEntry.setEndTime(LocalDateTime.now());
-
-        long seconds = java.time.Duration.between(timeEntry.getStartTime(), timeEntry.getEndTime()).toSeconds();
-        timeEntry.setDuration(seconds);
-
-        Task task = timeEntry.getTask();
-        if (task.getProject().getHourlyCost() != null) {
-            BigDecimal hourlyCost = task.getProject().getHourlyCost();
-            BigDecimal hours = BigDecimal.valueOf(seconds).divide(BigDecimal.valueOf(3600), 2, RoundingMode.HALF_UP);
-            BigDecimal cost = hourlyCost.multiply(hours);
-            timeEntry.setCost(cost);
-        }
-
-        TimeEntry updatedTimeEntry = timeEntryRepository.save(timeEntry);
-        return mapToResponse(updatedTimeEntry);
+        rollupService.add(stopped.getUserId(), stopped.getProjectId(), stopped.getTaskId(),
+                stopped.getStartTime(), stopped.getDuration(), stopped.getCost());
+
+        TimeEntryResponse response = TimeEntryResponse.builder()
+                .id(stopped.getId())
+                .taskId(stopped.getTaskId())
+                .userId(stopped.getUserId())
+                .startTime(stopped.getStartTime())
+                .endTime(stopped.getEndTime())
+                .duration(stopped.getDuration())
+                .cost(stopped.getCost())
+                .build();
+        publish(userId, TimeEntryEventType.STOPPED, response);
+        return response;
     }
 
-    public List<TimeEntryResponse> getTimeEntriesByTaskId(Long taskId, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + taskId));
+    @Transactional(readOnly = true)
+    public PageResponse<TimeEntryResponse> getTimeEntriesByTaskId(Long taskId, Long userId, String cursor, int limit) {
+        Pagination.validateLimit(limit);
 
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
+        if (!catalogCache.ownsTask(userId, taskId)) {
             throw new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + taskId);
         }
 
-        List<TimeEntry> timeEntries = timeEntryRepository.findAll();
-        return timeEntries.stream()
-                .filter(t -> t.getTask().getId().equals(taskId))
-                .map(this::mapToResponse)
-                .toList();
+        List<TimeEntry> timeEntries;
+        if (cursor == null) {
+            timeEntries = timeEntryRepository.findByTask_IdOrderByStartTimeDescIdDesc(taskId, Pagination.fetchLimit(limit));
+        } else {
+            Pagination.TimeEntryCursor after = Pagination.decodeTimeEntry(cursor);
+            timeEntries = timeEntryRepository.findByTaskIdAfter(taskId, after.startTime(), after.id(), Pagination.fetchLimit(limit));
+        }
+
+        return toPage(timeEntries, limit);
     }
 
-    public List<TimeEntryResponse> getMyTimeEntries(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
+    @Transactional(readOnly = true)
+    public PageResponse<TimeEntryResponse> getMyTimeEntries(Long userId, String cursor, int limit) {
+        Pagination.validateLimit(limit);
 
-        List<TimeEntry> timeEntries = timeEntryRepository.findAll();
-        return timeEntries.stream()
-                .filter(t -> t.getUser().getId().equals(user.getId()))
-                .map(this::mapToResponse)
-                .toList();
+        List<TimeEntry> timeEntries;
+        if (cursor == null) {
+            timeEntries = timeEntryRepository.findByUser_IdOrderByStartTimeDescIdDesc(userId, Pagination.fetchLimit(limit));
+        } else {
+            Pagination.TimeEntryCursor after = Pagination.decodeTimeEntry(cursor);
+            timeEntries = timeEntryRepository.findByUserIdAfter(userId, after.startTime(), after.id(), Pagination.fetchLimit(limit));
+        }
+
+        return toPage(timeEntries, limit);
     }
 
-    public List<TimeEntryResponse> getTimeEntriesByProjectIdAndDateRange(Long projectId, LocalDateTime startDate, LocalDateTime endDate, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
+    @Transactional(readOnly = true)
+    public PageResponse<TimeEntryResponse> getTimeEntriesByProjectIdAndDateRange(Long projectId, LocalDateTime startDate, LocalDateTime endDate, Long userId, String cursor, int limit) {
+        Pagination.validateLimit(limit);
 
-        Task task = taskRepository.findById(projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + projectId));
+        if (!catalogCache.ownsProject(userId, projectId)) {
+            throw new ResourceNotFoundException("PROJECT_NOT_FOUND", "Project not found with id: " + projectId);
+        }
 
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + projectId);
+        List<TimeEntry> timeEntries;
+        if (cursor == null) {
+            timeEntries = timeEntryRepository.findByProjectIdAndDateRange(projectId, startDate, endDate, Pagination.fetchLimit(limit));
+        } else {
+            Pagination.TimeEntryCursor after = Pagination.decodeTimeEntry(cursor);
+            timeEntries = timeEntryRepository.findByProjectIdAndDateRangeAfter(projectId, startDate, endDate, after.startTime(), after.id(), Pagination.fetchLimit(limit));
         }
 
-        List<TimeEntry> timeEntries = timeEntryRepository.findByProjectIdAndDateRange(projectId, startDate, endDate);
-        return timeEntries.stream()
-                .map(this::mapToResponse)
-                .toList();
+        return toPage(timeEntries, limit);
     }
 
-    public TimeEntryResponse getTimeEntryById(Long id, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        TimeEntry timeEntry = timeEntryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("TIME_ENTRY_NOT_FOUND", "Time entry not found with id: " + id));
+    @Transactional(readOnly = true)
+    public CollectionVersion getMyTimeEntriesVersion(Long userId) {
+        CollectionVersionProjection version = timeEntryRepository.findVersionByUserId(userId);
+        return new CollectionVersion(version.getCount(), version.getChangeSum(), version.getLastModified());
+    }
 
-        if (!timeEntry.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TIME_ENTRY_NOT_FOUND", "Time entry not found with id: " + id);
+    @Transactional(readOnly = true)
+    public CollectionVersion getTaskTimeEntriesVersion(Long taskId, Long userId) {
+        // Checked before the version, or a matching If-None-Match would answer 304 for someone else's task
+        if (!catalogCache.ownsTask(userId, taskId)) {
+            throw new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + taskId);
         }
+        CollectionVersionProjection version = timeEntryRepository.findVersionByTaskIdAndUserId(taskId, userId);
+        return new CollectionVersion(version.getCount(), version.getChangeSum(), version.getLastModified());
+    }
+
+    @Transactional(readOnly = true)
+    public TimeEntryResponse getTimeEntryById(Long id, Long userId) {
+        TimeEntry timeEntry = timeEntryRepository.findByIdAndUser_Id(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("TIME_ENTRY_NOT_FOUND", "Time entry not found with id: " + id));
 
         return mapToResponse(timeEntry);
     }
 
     @Transactional
-    public TimeEntryResponse createTimeEntry(String email, TimeEntryRequest request) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        Task task = taskRepository.findById(request.getTaskId())
+    public TimeEntryResponse createTimeEntry(Long userId, TimeEntryRequest request) {
+        Task task = taskRepository.findByIdAndProject_User_Id(request.getTaskId(), userId)
                 .orElseThrow(() -> new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + request.getTaskId()));
 
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + request.getTaskId());
+        if (request.getEndTime() == null && timeEntryRepository.existsByUser_IdAndEndTimeIsNull(userId)) {
+            throw new BusinessException("ACTIVE_TIME_ENTRY_EXISTS", "You already have an active time entry");
         }
 
         TimeEntry timeEntry = TimeEntry.builder()
                 .task(task)
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .startTime(request.getStartTime())
                 .endTime(request.getEndTime())
                 .duration(request.getDuration())
@@ -162,28 +191,105 @@ public class TimeEntryService {
                 .build();
 
         TimeEntry savedTimeEntry = timeEntryRepository.save(timeEntry);
-        return mapToResponse(savedTimeEntry);
+        rollupService.add(savedTimeEntry);
+
+        TimeEntryResponse response = mapToResponse(savedTimeEntry);
+        publish(userId, TimeEntryEventType.CREATED, response);
+        return response;
     }
 
+    /**
+     * Creates finished time entries in bulk. Task ownership is checked for the whole batch in one query,
+     * the accepted entries are inserted with batched statements and the rest are reported per item.
+     */
     @Transactional
-    public TimeEntryResponse updateTimeEntry(Long id, TimeEntryRequest request, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
+    public BatchTimeEntryResponse createTimeEntries(Long userId, BatchTimeEntryRequest request) {
+        List<TimeEntryRequest> items = request.getEntries();
+
+        Set<Long> taskIds = new HashSet<>();
+        for (TimeEntryRequest item : items) {
+            if (item != null && item.getTaskId() != null) {
+                taskIds.add(item.getTaskId());
+            }
+        }
+        Map<Long, Task> tasks = new HashMap<>();
+        for (Task task : taskRepository.findByIdInAndProject_User_Id(taskIds, userId)) {
+            tasks.put(task.getId(), task);
+        }
 
-        TimeEntry timeEntry = timeEntryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("TIME_ENTRY_NOT_FOUND", "Time entry not found with id: " + id));
+        User user = userRepository.getReferenceById(userId);
+        BatchTimeEntryItemResult[] results = new BatchTimeEntryItemResult[items.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<TimeEntry> accepted = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            TimeEntryRequest item = items.get(i);
+            Rejection rejection = validateBatchItem(item, tasks);
+            TimeEntry timeEntry = null;
+            if (rejection == null) {
+                timeEntry = TimeEntry.builder()
+                        .task(tasks.get(item.getTaskId()))
+                        .user(user)
+                        .startTime(item.getStartTime())
+                        .endTime(item.getEndTime())
+                        .duration(item.getDuration())
+                        .cost(item.getCost())
+                        .build();
+                rejection = validateConstraints(timeEntry);
+            }
+            if (rejection != null) {
+                results[i] = BatchTimeEntryItemResult.builder()
+                        .index(i)
+                        .status(BatchItemStatus.REJECTED)
+                        .code(rejection.code())
+                        .message(rejection.message())
+                        .build();
+                continue;
+            }
+
+            acceptedIndexes.add(i);
+            accepted.add(timeEntry);
+        }
 
-        if (!timeEntry.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TIME_ENTRY_NOT_FOUND", "Time entry not found with id: " + id);
+        List<TimeEntry> saved = timeEntryRepository.saveAllAndFlush(accepted);
+        rollupService.addAll(saved);
+
+        List<TimeEntryEvent> events = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            TimeEntryResponse response = mapToResponse(saved.get(i));
+            results[index] = BatchTimeEntryItemResult.builder()
+                    .index(index)
+                    .status(BatchItemStatus.CREATED)
+                    .timeEntry(response)
+                    .build();
+            events.add(event(TimeEntryEventType.CREATED, response.getId(), response));
+        }
+        if (!events.isEmpty()) {
+            eventPublisher.publishEvent(new TimeEntryChangedEvent(userId, events));
         }
 
-        Task task = taskRepository.findById(request.getTaskId())
+        return BatchTimeEntryResponse.builder()
+                .created(saved.size())
+                .rejected(items.size() - saved.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    @Transactional
+    public TimeEntryResponse updateTimeEntry(Long id, TimeEntryRequest request, Long userId) {
+        TimeEntry timeEntry = timeEntryRepository.findByIdAndUser_Id(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("TIME_ENTRY_NOT_FOUND", "Time entry not found with id: " + id));
+
+        Task task = taskRepository.findByIdAndProject_User_Id(request.getTaskId(), userId)
                 .orElseThrow(() -> new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + request.getTaskId()));
 
-        if (!task.getProject().getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TASK_NOT_FOUND", "Task not found with id: " + request.getTaskId());
+        if (timeEntry.getEndTime() != null && request.getEndTime() == null && timeEntryRepository.existsByUser_IdAndEndTimeIsNull(userId)) {
+            throw new BusinessException("ACTIVE_TIME_ENTRY_EXISTS", "You already have an active time entry");
         }
 
+        rollupService.subtract(timeEntry);
+
         timeEntry.setTask(task);
         timeEntry.setStartTime(request.getStartTime());
         timeEntry.setEndTime(request.getEndTime());
@@ -191,25 +297,74 @@ public class TimeEntryService {
         timeEntry.setCost(request.getCost());
 
         TimeEntry updatedTimeEntry = timeEntryRepository.save(timeEntry);
-        return mapToResponse(updatedTimeEntry);
+        rollupService.add(updatedTimeEntry);
+
+        TimeEntryResponse response = mapToResponse(updatedTimeEntry);
+        publish(userId, TimeEntryEventType.UPDATED, response);
+        return response;
     }
 
     @Transactional
-    public void deleteTimeEntry(Long id, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("USER_NOT_FOUND", "User not found with email: " + email));
-
-        TimeEntry timeEntry = timeEntryRepository.findById(id)
+    public void deleteTimeEntry(Long id, Long userId) {
+        TimeEntry timeEntry = timeEntryRepository.findByIdAndUser_Id(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("TIME_ENTRY_NOT_FOUND", "Time entry not found with id: " + id));
 
-        if (!timeEntry.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TIME_ENTRY_NOT_FOUND", "Time entry not found with id: " + id);
+        rollupService.subtract(timeEntry);
+        timeEntryRepository.deleteById(id);
+        eventPublisher.publishEvent(new TimeEntryChangedEvent(userId, List.of(event(TimeEntryEventType.DELETED, id, null))));
+    }
+
+    /**
+     * @return the running entry of the user, or null when no timer is running
+     */
+    @Transactional(readOnly = true)
+    public TimeEntryResponse getActiveTimeEntry(Long userId) {
+        return timeEntryRepository.findByUser_IdAndEndTimeIsNull(userId)
+                .map(this::mapToResponse)
+                .orElse(null);
+    }
+
+    /**
+     * @return the error code and message for an item that cannot be imported, or null when it is valid
+     */
+    private Rejection validateBatchItem(TimeEntryRequest item, Map<Long, Task> ownedTasks) {
+        if (item == null || item.getTaskId() == null || item.getStartTime() == null) {
+            return new Rejection("VALIDATION_ERROR", "Task ID and start time are required");
+        }
+        if (item.getEndTime() == null) {
+            return new Rejection("END_TIME_REQUIRED", "Batch entries must have an end time");
+        }
+        if (item.getEndTime().isBefore(item.getStartTime())) {
+            return new Rejection("INVALID_TIME_RANGE", "End time must not be before start time");
         }
+        if (!ownedTasks.containsKey(item.getTaskId())) {
+            return new Rejection("TASK_NOT_FOUND", "Task not found with id: " + item.getTaskId());
+        }
+        return null;
+    }
 
-        timeEntryRepository.deleteById(id);
+    /**
+     * Checks the entity's bean validation constraints up front: a violation found when the batch is flushed would
+     * fail every item instead of the offending one.
+     */
+    private Rejection validateConstraints(TimeEntry timeEntry) {
+        Set<ConstraintViolation<TimeEntry>> violations = validator.validate(timeEntry);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        String message = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return new Rejection("VALIDATION_ERROR", message);
     }
 
-    private TimeEntryResponse mapToResponse(TimeEntry timeEntry) {
+    private PageResponse<TimeEntryResponse> toPage(List<TimeEntry> timeEntries, int limit) {
+        return Pagination.toPage(timeEntries, limit, this::mapToResponse,
+                t -> Pagination.encodeTimeEntry(t.getStartTime(), t.getId()));
+    }
+
+    TimeEntryResponse mapToResponse(TimeEntry timeEntry) {
         return TimeEntryResponse.builder()
                 .id(timeEntry.getId())
                 .taskId(timeEntry.getTask().getId())
@@ -220,4 +375,19 @@ public class TimeEntryService {
                 .cost(timeEntry.getCost())
                 .build();
     }
+
+    private void publish(Long userId, TimeEntryEventType type, TimeEntryResponse timeEntry) {
+        eventPublisher.publishEvent(new TimeEntryChangedEvent(userId, List.of(event(type, timeEntry.getId(), timeEntry))));
+    }
+
+    private static TimeEntryEvent event(TimeEntryEventType type, Long timeEntryId, TimeEntryResponse timeEntry) {
+        return TimeEntryEvent.builder()
+                .type(type)
+                .timeEntryId(timeEntryId)
+                .timeEntry(timeEntry)
+                .build();
+    }
+
+    private record Rejection(String code, String message) {
+    }
 }
@@ -0,0 +1,160 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.config.PrimaryDataSourcePin;
+import cl.pablovillarroel.timetracker.model.TokenRevocation;
+import cl.pablovillarroel.timetracker.repository.TokenRevocationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revocation of bearer tokens before they expire, checked on every authenticated request.
+ *
+ * <p>The token_revocations table is the source of truth; each node mirrors it into a Bloom filter of revoked jtis
+ * and user ids. A token that matches neither is accepted without a query, which is nearly every request. Only a
+ * filter hit, real or false positive, is confirmed against the table. Revocations made on other nodes are picked up
+ * by a short polling interval, and the filter is rebuilt periodically so expired revocations drop out of it.
+ * Everything here reads the primary: a revocation a lagging replica has not applied yet would be accepted, and one
+ * that reaches the replica after the poll window has moved past it would be missed until the next rebuild.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // Poll window overlap, so a revocation committed a little after its revoked_at timestamp is not skipped
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final long tokenLifetimeMillis;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final Counter clearChecks;
+    private final Counter falsePositiveChecks;
+    private final Counter revokedChecks;
+
+    private volatile BloomFilter revoked;
+    private volatile LocalDateTime lastPolledAt;
+
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository, MeterRegistry meterRegistry,
+                                  @Value("${jwt.expiration}") long tokenLifetimeMillis,
+                                  @Value("${jwt.revocation.bloom.expected-entries:100000}") long expectedEntries,
+                                  @Value("${jwt.revocation.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clearChecks = revocationCheckCounter(meterRegistry, "clear");
+        this.falsePositiveChecks = revocationCheckCounter(meterRegistry, "false-positive");
+        this.revokedChecks = revocationCheckCounter(meterRegistry, "revoked");
+    }
+
+    /**
+     * @param jti       the token id, or null for tokens issued before the claim existed
+     * @param issuedAt  when the token was issued, compared against user-wide revocations
+     */
+    public boolean isRevoked(String jti, Long userId, LocalDateTime issuedAt) {
+        BloomFilter filter = revoked;
+        if (!(jti != null && filter.mightContain(jtiKey(jti))) && !filter.mightContain(userKey(userId))) {
+            clearChecks.increment();
+            return false;
+        }
+
+        boolean confirmed = PrimaryDataSourcePin.callOnPrimary(
+                () -> tokenRevocationRepository.isRevoked(jti, userId, issuedAt, LocalDateTime.now()));
+        (confirmed ? revokedChecks : falsePositiveChecks).increment();
+        return confirmed;
+    }
+
+    @Transactional
+    public void revokeToken(String jti, Long userId, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationRepository.save(TokenRevocation.builder()
+                .jti(jti)
+                .userId(userId)
+                .revokedAt(now)
+                .expiresAt(expiresAt)
+                .build());
+        revoked.add(jtiKey(jti));
+    }
+
+    /**
+     * Revokes every token issued to the user so far; those tokens have all expired one token lifetime from now.
+     */
+    @Transactional
+    public void revokeUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationRepository.save(TokenRevocation.builder()
+                .userId(userId)
+                .revokedAt(now)
+                .expiresAt(now.plus(Duration.ofMillis(tokenLifetimeMillis)))
+                .build());
+        revoked.add(userKey(userId));
+    }
+
+    @PostConstruct
+    void load() {
+        PrimaryDataSourcePin.runOnPrimary(this::rebuildFilter);
+    }
+
+    /**
+     * Removes expired revocations and replaces the filter with one holding only the rest.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}", initialDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}")
+    @Transactional
+    public void rebuild() {
+        tokenRevocationRepository.deleteExpired(LocalDateTime.now());
+        rebuildFilter();
+    }
+
+    /**
+     * Adds revocations recorded by other nodes since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:5000}")
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        BloomFilter filter = revoked;
+        tokenRevocationRepository.findByRevokedAtAfterAndExpiresAtAfter(lastPolledAt.minus(POLL_OVERLAP), now)
+                .forEach(revocation -> add(filter, revocation));
+        lastPolledAt = now;
+    }
+
+    private void rebuildFilter() {
+        LocalDateTime now = LocalDateTime.now();
+        BloomFilter filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        List<TokenRevocation> active = tokenRevocationRepository.findByExpiresAtAfter(now);
+        active.forEach(revocation -> add(filter, revocation));
+
+        revoked = filter;
+        lastPolledAt = now;
+        log.info("Loaded {} token revocations into the revocation filter", active.size());
+    }
+
+    private void add(BloomFilter filter, TokenRevocation revocation) {
+        filter.add(revocation.getJti() != null ? jtiKey(revocation.getJti()) : userKey(revocation.getUserId()));
+    }
+
+    private static String jtiKey(String jti) {
+        return "jti:" + jti;
+    }
+
+    private static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    private static Counter revocationCheckCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("jwt.revocation.checks")
+                .description("Revocation checks, by whether the filter cleared the token or the table had to be queried")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
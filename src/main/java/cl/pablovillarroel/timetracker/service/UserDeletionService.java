@@ -0,0 +1,131 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.model.PendingUserDeletion;
+import cl.pablovillarroel.timetracker.repository.PendingUserDeletionRepository;
+import cl.pablovillarroel.timetracker.repository.ProjectRepository;
+import cl.pablovillarroel.timetracker.repository.TimeEntryDailyRollupRepository;
+import cl.pablovillarroel.timetracker.repository.TimeEntryRepository;
+import cl.pablovillarroel.timetracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes users with set-based statements that rely on the ON DELETE CASCADE foreign keys.
+ * Users with many time entries are disabled first and removed in the background, one short transaction per chunk,
+ * so a single huge cascade does not hold locks or bloat the WAL in one go. Those deletions are recorded in
+ * pending_user_deletions, and one that stops making progress, because its node restarted or a chunk failed, is
+ * claimed again by {@link UserService#resumeStalledDeletions} on any node.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserDeletionService {
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final TimeEntryRepository timeEntryRepository;
+    private final TimeEntryDailyRollupRepository rollupRepository;
+    private final PendingUserDeletionRepository pendingUserDeletionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenRevocationService tokenRevocationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${user.deletion.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${user.deletion.stall-timeout-minutes:10}")
+    private long stallTimeoutMinutes;
+
+    public long countTimeEntries(Long userId) {
+        return timeEntryRepository.countByUser_Id(userId);
+    }
+
+    @Transactional
+    public boolean deleteNow(Long userId) {
+        tokenRevocationService.revokeUser(userId);
+        eventPublisher.publishEvent(new UserDisabledEvent(userId));
+        return userRepository.bulkDeleteById(userId) > 0;
+    }
+
+    /**
+     * Disables the user and records the pending deletion in the same transaction, so it is resumed even if the node
+     * stops before {@link #deleteInChunks} starts.
+     */
+    @Transactional
+    public boolean disable(Long userId) {
+        tokenRevocationService.revokeUser(userId);
+        eventPublisher.publishEvent(new UserDisabledEvent(userId));
+        if (userRepository.disableById(userId) == 0) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        pendingUserDeletionRepository.save(PendingUserDeletion.builder()
+                .userId(userId)
+                .requestedAt(now)
+                .lastProgressAt(now)
+                .build());
+        return true;
+    }
+
+    /**
+     * Removes a disabled user's data chunk by chunk, then the user row itself.
+     */
+    @Async
+    public void deleteInChunks(Long userId) {
+        long startedAt = System.currentTimeMillis();
+
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.deleteByUserIds(List.of(userId)));
+        long timeEntries = deleteChunks(userId, () -> timeEntryRepository.deleteChunkByUserId(userId, chunkSize));
+        long projects = deleteChunks(userId, () -> projectRepository.deleteChunkByUserId(userId, chunkSize));
+        // Also removes the pending_user_deletions row through its cascade
+        transactionTemplate.executeWithoutResult(status -> userRepository.bulkDeleteById(userId));
+
+        log.info("Deleted user {} with {} time entries and {} projects in {} ms",
+                userId, timeEntries, projects, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Takes over the deletions whose worker made no progress for user.deletion.stall-timeout-minutes; a deletion
+     * claimed here is not claimed again, by this or another node, until it stalls once more.
+     *
+     * @return the users whose deletion the caller must now run
+     */
+    public List<Long> claimStalledDeletions() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(stallTimeoutMinutes);
+        List<Long> claimed = new ArrayList<>();
+        for (Long userId : pendingUserDeletionRepository.findStalledUserIds(staleBefore)) {
+            Integer updated = transactionTemplate.execute(status ->
+                    pendingUserDeletionRepository.claimStalled(userId, staleBefore, LocalDateTime.now()));
+            if (updated != null && updated > 0) {
+                claimed.add(userId);
+            }
+        }
+        return claimed;
+    }
+
+    private long deleteChunks(Long userId, IntSupplier deleteChunk) {
+        long total = 0;
+        int deleted;
+        do {
+            Integer result = transactionTemplate.execute(status -> {
+                int count = deleteChunk.getAsInt();
+                pendingUserDeletionRepository.recordProgress(userId, LocalDateTime.now());
+                return count;
+            });
+            deleted = result != null ? result : 0;
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+}
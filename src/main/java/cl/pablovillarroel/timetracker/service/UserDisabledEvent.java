@@ -0,0 +1,7 @@
+package cl.pablovillarroel.timetracker.service;
+
+/**
+ * Published by {@link UserDeletionService} inside the transaction that disables or deletes a user.
+ */
+public record UserDisabledEvent(Long userId) {
+}
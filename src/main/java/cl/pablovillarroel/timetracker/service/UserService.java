@@ -7,18 +7,29 @@ import cl.pablovillarroel.timetracker.exception.ResourceNotFoundException;
 import cl.pablovillarroel.timetracker.model.User;
 import cl.pablovillarroel.timetracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final UserDeletionService userDeletionService;
 
-    @Transactional
+    @Value("${user.deletion.background-threshold:10000}")
+    private long backgroundDeletionThreshold;
+
+    /**
+     * Not transactional on purpose: the password is hashed on the bounded hashing executor, and no database
+     * connection should be held while waiting for it. A concurrent signup with the same email still fails on the
+     * unique constraint.
+     */
     public UserResponse createUser(UserRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new ResourceAlreadyExistsException("USER_EMAIL_ALREADY_EXISTS", "User already exists with email: " + request.getEmail());
@@ -26,7 +37,7 @@ public class UserService {
 
         User user = User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .name(request.getName())
                 .enabled(true)
                 .build();
@@ -43,6 +54,40 @@ public class UserService {
         return mapToResponse(user);
     }
 
+    /**
+     * Deletes a user and everything they own. Users with more time entries than user.deletion.background-threshold
+     * are disabled right away and deleted in the background.
+     *
+     * @return true when the user was deleted before returning, false when the deletion continues in the background
+     */
+    public boolean deleteUser(Long userId) {
+        if (userDeletionService.countTimeEntries(userId) <= backgroundDeletionThreshold) {
+            if (!userDeletionService.deleteNow(userId)) {
+                throw new ResourceNotFoundException("USER_NOT_FOUND", "User not found with id: " + userId);
+            }
+            return true;
+        }
+
+        if (!userDeletionService.disable(userId)) {
+            throw new ResourceNotFoundException("USER_NOT_FOUND", "User not found with id: " + userId);
+        }
+        userDeletionService.deleteInChunks(userId);
+        return false;
+    }
+
+    /**
+     * Restarts background deletions that stalled, for instance because their node went down. Runs at startup and
+     * then every user.deletion.resume-interval-ms; it only claims the deletions and hands them to the async
+     * executor, so the shared scheduler thread is never held by a long deletion.
+     */
+    @Scheduled(fixedDelayString = "${user.deletion.resume-interval-ms:60000}")
+    public void resumeStalledDeletions() {
+        for (Long userId : userDeletionService.claimStalledDeletions()) {
+            log.info("Resuming the deletion of user {}", userId);
+            userDeletionService.deleteInChunks(userId);
+        }
+    }
+
     private UserResponse mapToResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
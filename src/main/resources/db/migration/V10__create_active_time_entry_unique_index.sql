@@ -0,0 +1,24 @@
+-- Close all but the most recent running entry of each user so at most one remains active,
+-- counting the closed entries in the daily rollups
+WITH closed AS (
+    UPDATE time_entries te
+    SET end_time = te.start_time, duration = 0
+    WHERE te.end_time IS NULL
+      AND EXISTS (
+          SELECT 1 FROM time_entries newer
+          WHERE newer.user_id = te.user_id
+            AND newer.end_time IS NULL
+            AND (newer.start_time, newer.id) > (te.start_time, te.id)
+      )
+    RETURNING te.user_id, te.task_id, te.start_time
+)
+INSERT INTO time_entry_daily_rollups (user_id, day, project_id, task_id, total_seconds, total_cost, entry_count)
+SELECT c.user_id, CAST(c.start_time AS date), t.project_id, c.task_id, 0, 0, COUNT(*)
+FROM closed c
+JOIN tasks t ON t.id = c.task_id
+GROUP BY c.user_id, CAST(c.start_time AS date), t.project_id, c.task_id
+ON CONFLICT (user_id, day, project_id, task_id) DO UPDATE
+SET entry_count = time_entry_daily_rollups.entry_count + EXCLUDED.entry_count;
+
+-- A user can have at most one running time entry
+CREATE UNIQUE INDEX ux_time_entries_active_user_id ON time_entries(user_id) WHERE end_time IS NULL;
@@ -0,0 +1,2 @@
+-- Time entry ids are handed out in blocks of 50 by Hibernate's pooled optimizer
+ALTER SEQUENCE time_entries_id_seq INCREMENT BY 50;
@@ -0,0 +1,4 @@
+-- Change timestamp of time entries, used with the row count as the ETag of the time entry lists
+ALTER TABLE time_entries ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_time_entries_user_id_updated_at ON time_entries(user_id, updated_at);
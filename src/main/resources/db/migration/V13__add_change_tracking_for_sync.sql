@@ -0,0 +1,100 @@
+-- Change tracking for the delta sync endpoint.
+-- Every insert or update stamps the row with the writing transaction id (change_xid) and a global sequence
+-- value (change_version). Sync pages through rows ordered by (change_xid, change_version) and only up to the
+-- oldest transaction still running, so a change committed late can never fall behind a client's token.
+CREATE SEQUENCE change_version_seq;
+
+CREATE FUNCTION set_change_version() RETURNS trigger AS $$
+BEGIN
+    NEW.change_version := nextval('change_version_seq');
+    NEW.change_xid := CAST(CAST(pg_current_xact_id() AS text) AS bigint);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE projects ADD COLUMN change_xid BIGINT, ADD COLUMN change_version BIGINT;
+ALTER TABLE tasks ADD COLUMN change_xid BIGINT, ADD COLUMN change_version BIGINT;
+ALTER TABLE time_entries ADD COLUMN change_xid BIGINT, ADD COLUMN change_version BIGINT;
+
+UPDATE projects SET change_xid = CAST(CAST(pg_current_xact_id() AS text) AS bigint), change_version = nextval('change_version_seq');
+UPDATE tasks SET change_xid = CAST(CAST(pg_current_xact_id() AS text) AS bigint), change_version = nextval('change_version_seq');
+UPDATE time_entries SET change_xid = CAST(CAST(pg_current_xact_id() AS text) AS bigint), change_version = nextval('change_version_seq');
+
+ALTER TABLE projects ALTER COLUMN change_xid SET NOT NULL, ALTER COLUMN change_version SET NOT NULL;
+ALTER TABLE tasks ALTER COLUMN change_xid SET NOT NULL, ALTER COLUMN change_version SET NOT NULL;
+ALTER TABLE time_entries ALTER COLUMN change_xid SET NOT NULL, ALTER COLUMN change_version SET NOT NULL;
+
+CREATE TRIGGER projects_change_version BEFORE INSERT OR UPDATE ON projects
+    FOR EACH ROW EXECUTE FUNCTION set_change_version();
+CREATE TRIGGER tasks_change_version BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION set_change_version();
+CREATE TRIGGER time_entries_change_version BEFORE INSERT OR UPDATE ON time_entries
+    FOR EACH ROW EXECUTE FUNCTION set_change_version();
+
+CREATE INDEX idx_projects_user_id_change ON projects(user_id, change_xid, change_version);
+CREATE INDEX idx_tasks_project_id_change ON tasks(project_id, change_xid, change_version);
+CREATE INDEX idx_time_entries_user_id_change ON time_entries(user_id, change_xid, change_version);
+
+-- Deleted rows, kept so clients can remove them locally
+CREATE TABLE sync_tombstones (
+    change_version BIGINT PRIMARY KEY DEFAULT nextval('change_version_seq'),
+    change_xid BIGINT NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint),
+    user_id BIGINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_sync_tombstones_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_sync_tombstones_user_id_change ON sync_tombstones(user_id, change_xid, change_version);
+CREATE INDEX idx_sync_tombstones_deleted_at ON sync_tombstones(deleted_at);
+
+-- Tombstones are written per statement from the transition table. Rows removed by a cascade get none:
+-- the tombstone of the deleted parent already tells the client to drop its children, and deleting or
+-- disabling a user leaves nobody to sync with.
+CREATE FUNCTION record_project_tombstones() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO sync_tombstones (user_id, entity_type, entity_id)
+    SELECT d.user_id, 'PROJECT', d.id
+    FROM deleted_rows d
+    JOIN users u ON u.id = d.user_id AND u.enabled;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION record_task_tombstones() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO sync_tombstones (user_id, entity_type, entity_id)
+    SELECT p.user_id, 'TASK', d.id
+    FROM deleted_rows d
+    JOIN projects p ON p.id = d.project_id
+    JOIN users u ON u.id = p.user_id AND u.enabled;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION record_time_entry_tombstones() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO sync_tombstones (user_id, entity_type, entity_id)
+    SELECT d.user_id, 'TIME_ENTRY', d.id
+    FROM deleted_rows d
+    JOIN users u ON u.id = d.user_id AND u.enabled
+    WHERE EXISTS (SELECT 1 FROM tasks t WHERE t.id = d.task_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER projects_tombstones AFTER DELETE ON projects
+    REFERENCING OLD TABLE AS deleted_rows FOR EACH STATEMENT EXECUTE FUNCTION record_project_tombstones();
+CREATE TRIGGER tasks_tombstones AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS deleted_rows FOR EACH STATEMENT EXECUTE FUNCTION record_task_tombstones();
+CREATE TRIGGER time_entries_tombstones AFTER DELETE ON time_entries
+    REFERENCING OLD TABLE AS deleted_rows FOR EACH STATEMENT EXECUTE FUNCTION record_time_entry_tombstones();
+
+-- Tokens older than the last tombstone purge may have missed deletions and need a full resync
+CREATE TABLE sync_state (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    tombstones_purged_before_xid BIGINT NOT NULL
+);
+
+INSERT INTO sync_state (id, tombstones_purged_before_xid) VALUES (1, 0);
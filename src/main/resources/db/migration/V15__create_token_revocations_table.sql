@@ -0,0 +1,15 @@
+-- Revoked bearer tokens: either one token by its jti, or every token of a user issued up to revoked_at.
+-- Rows are only needed until the tokens they cover have expired.
+-- No foreign key on user_id: revocations must outlive a deleted user until the user's tokens expire.
+CREATE TABLE token_revocations (
+    id BIGSERIAL PRIMARY KEY,
+    jti VARCHAR(36),
+    user_id BIGINT NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_token_revocations_jti ON token_revocations(jti);
+CREATE INDEX idx_token_revocations_user_id ON token_revocations(user_id);
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations(revoked_at);
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations(expires_at);
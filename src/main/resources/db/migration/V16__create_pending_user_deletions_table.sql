@@ -0,0 +1,11 @@
+-- Users disabled and waiting for their data to be removed in the background. A worker refreshes last_progress_at
+-- after every chunk; a row that stops advancing belongs to a worker that died and is picked up again.
+-- The row goes away with the user through the cascade, in the same statement that finishes the deletion.
+CREATE TABLE pending_user_deletions (
+    user_id BIGINT PRIMARY KEY,
+    requested_at TIMESTAMP NOT NULL,
+    last_progress_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_pending_user_deletions_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_pending_user_deletions_last_progress_at ON pending_user_deletions(last_progress_at);
@@ -0,0 +1,12 @@
+-- The entity maps duration as a number of seconds and running entries have no duration yet
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_name = 'time_entries' AND column_name = 'duration' AND data_type = 'interval'
+    ) THEN
+        ALTER TABLE time_entries ALTER COLUMN duration TYPE BIGINT USING EXTRACT(EPOCH FROM duration)::BIGINT;
+    END IF;
+END $$;
+
+ALTER TABLE time_entries ALTER COLUMN duration DROP NOT NULL;
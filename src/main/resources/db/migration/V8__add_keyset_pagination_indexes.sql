@@ -0,0 +1,11 @@
+-- Composite indexes matching the keyset pagination order of the list endpoints
+CREATE INDEX idx_time_entries_user_start_time_id ON time_entries(user_id, start_time DESC, id DESC);
+CREATE INDEX idx_time_entries_task_start_time_id ON time_entries(task_id, start_time DESC, id DESC);
+CREATE INDEX idx_projects_user_id_id ON projects(user_id, id);
+CREATE INDEX idx_tasks_project_id_id ON tasks(project_id, id);
+
+-- Covered by the leading column of the composite indexes above
+DROP INDEX idx_time_entries_user_id;
+DROP INDEX idx_time_entries_task_id;
+DROP INDEX idx_projects_user_id;
+DROP INDEX idx_tasks_project_id;
@@ -0,0 +1,25 @@
+-- Per-user daily totals of finished time entries, maintained by TimeEntryService in the same transaction as the entry
+CREATE TABLE time_entry_daily_rollups (
+    user_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    project_id BIGINT NOT NULL,
+    task_id BIGINT NOT NULL,
+    total_seconds BIGINT NOT NULL DEFAULT 0,
+    total_cost DECIMAL(14,2) NOT NULL DEFAULT 0,
+    entry_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT pk_time_entry_daily_rollups PRIMARY KEY (user_id, day, project_id, task_id),
+    CONSTRAINT fk_time_entry_daily_rollups_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_time_entry_daily_rollups_project FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+    CONSTRAINT fk_time_entry_daily_rollups_task FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_time_entry_daily_rollups_project_id ON time_entry_daily_rollups(project_id);
+CREATE INDEX idx_time_entry_daily_rollups_task_id ON time_entry_daily_rollups(task_id);
+
+INSERT INTO time_entry_daily_rollups (user_id, day, project_id, task_id, total_seconds, total_cost, entry_count)
+SELECT te.user_id, CAST(te.start_time AS date), t.project_id, te.task_id,
+       SUM(COALESCE(te.duration, 0)), SUM(COALESCE(te.cost, 0)), COUNT(*)
+FROM time_entries te
+JOIN tasks t ON t.id = te.task_id
+WHERE te.end_time IS NOT NULL
+GROUP BY te.user_id, CAST(te.start_time AS date), t.project_id, te.task_id;
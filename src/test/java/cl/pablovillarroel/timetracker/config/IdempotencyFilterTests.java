@@ -0,0 +1,61 @@
+package cl.pablovillarroel.timetracker.config;
+
+import cl.pablovillarroel.timetracker.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static cl.pablovillarroel.timetracker.support.TestData.persistUser;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "idempotency.max-body-bytes=64")
+@AutoConfigureMockMvc
+@Transactional
+class IdempotencyFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	private String bearer;
+
+	@BeforeEach
+	void setUp() {
+		User user = persistUser(entityManager, "idempotency@timetracker.test");
+		entityManager.flush();
+		bearer = "Bearer " + jwtUtil.generateToken(user.getId(), user.getEmail());
+	}
+
+	@Test
+	void oversizedKeyedBodyIsRefusedBeforeItIsStored() throws Exception {
+		mockMvc.perform(post("/api/time-entries/batch")
+						.header("Authorization", bearer)
+						.header(IdempotencyFilter.KEY_HEADER, "oversized")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"entries\":[" + "{}, ".repeat(20) + "{}]}"))
+				.andExpect(status().isPayloadTooLarge())
+				.andExpect(jsonPath("$.code").value("REQUEST_BODY_TOO_LARGE"));
+	}
+
+	@Test
+	void keyedBodyWithinTheLimitReachesTheController() throws Exception {
+		mockMvc.perform(post("/api/time-entries/stop")
+						.header("Authorization", bearer)
+						.header(IdempotencyFilter.KEY_HEADER, "within-limit"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.code").value("NO_ACTIVE_TIME_ENTRY"));
+	}
+}
@@ -0,0 +1,75 @@
+package cl.pablovillarroel.timetracker.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTests {
+
+	private final Connection primaryConnection = mock(Connection.class);
+
+	private final Connection replicaConnection = mock(Connection.class);
+
+	private DataSource primary;
+
+	private DataSource replica;
+
+	private ReplicaRoutingDataSource routing;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		primary = mock(DataSource.class);
+		replica = mock(DataSource.class);
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+		routing = new ReplicaRoutingDataSource(primary, replica, 60_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		PrimaryDataSourcePin.unpin();
+	}
+
+	@Test
+	void readWriteTransactionsUseThePrimary() throws SQLException {
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+	}
+
+	@Test
+	void readOnlyTransactionsUseTheReplica() throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(routing.getConnection()).isSameAs(replicaConnection);
+	}
+
+	@Test
+	void pinnedThreadsReadFromThePrimary() throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		PrimaryDataSourcePin.pin();
+
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+	}
+
+	@Test
+	void unavailableReplicaFallsBackToThePrimaryUntilTheRetryDelayPasses() throws SQLException {
+		when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+		verify(replica, times(1)).getConnection();
+	}
+}
@@ -0,0 +1,41 @@
+package cl.pablovillarroel.timetracker.controller;
+
+import cl.pablovillarroel.timetracker.config.JwtUtil;
+import cl.pablovillarroel.timetracker.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static cl.pablovillarroel.timetracker.support.TestData.persistUser;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ActuatorSecurityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void metricsAreNotServedOnTheApplicationPort() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().is4xxClientError());
+
+		User user = persistUser(entityManager, "actuator@timetracker.test");
+		entityManager.flush();
+		mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + jwtUtil.generateToken(user.getId(), user.getEmail())))
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,181 @@
+package cl.pablovillarroel.timetracker.controller;
+
+import cl.pablovillarroel.timetracker.config.JwtUtil;
+import cl.pablovillarroel.timetracker.dto.PageResponse;
+import cl.pablovillarroel.timetracker.dto.TimeEntryResponse;
+import cl.pablovillarroel.timetracker.model.Project;
+import cl.pablovillarroel.timetracker.model.Task;
+import cl.pablovillarroel.timetracker.model.TimeEntry;
+import cl.pablovillarroel.timetracker.model.User;
+import cl.pablovillarroel.timetracker.service.TimeEntryService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static cl.pablovillarroel.timetracker.support.SqlStatementAssertions.assertMaxStatements;
+import static cl.pablovillarroel.timetracker.support.SqlStatementAssertions.maxStatements;
+import static cl.pablovillarroel.timetracker.support.TestData.persistProject;
+import static cl.pablovillarroel.timetracker.support.TestData.persistTask;
+import static cl.pablovillarroel.timetracker.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class EndpointSqlBudgetTests {
+
+	private static final int ENTRIES = 30;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TimeEntryService timeEntryService;
+
+	private User user;
+
+	private Project project;
+
+	private Task task;
+
+	private String bearer;
+
+	@BeforeEach
+	void setUp() {
+		user = User.builder()
+				.email("budget@timetracker.test")
+				.password("not-a-real-hash")
+				.name("Budget user")
+				.build();
+		entityManager.persist(user);
+
+		project = Project.builder()
+				.user(user)
+				.name("Budget project")
+				.hourlyCost(new BigDecimal("40.00"))
+				.build();
+		entityManager.persist(project);
+
+		task = Task.builder()
+				.project(project)
+				.name("Budget task")
+				.build();
+		entityManager.persist(task);
+
+		LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+		for (int i = 0; i < ENTRIES; i++) {
+			entityManager.persist(TimeEntry.builder()
+					.user(user)
+					.task(task)
+					.startTime(start.plusHours(i))
+					.endTime(start.plusHours(i).plusMinutes(30))
+					.duration(1800L)
+					.build());
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+
+		bearer = "Bearer " + jwtUtil.generateToken(user.getId(), user.getEmail());
+	}
+
+	@Test
+	void listingMyTimeEntriesIsAVersionCheckAndOneQuery() throws Exception {
+		mockMvc.perform(get("/api/time-entries").param("limit", "50").header("Authorization", bearer))
+				.andExpect(status().isOk())
+				.andExpect(maxStatements(2));
+	}
+
+	@Test
+	void listingTimeEntriesOfATaskDoesNotLoadTheTasks() throws Exception {
+		mockMvc.perform(get("/api/time-entries/task/{taskId}", task.getId()).header("Authorization", bearer))
+				.andExpect(status().isOk())
+				.andExpect(maxStatements(3));
+	}
+
+	@Test
+	void listingTasksOfAProjectIsAVersionCheckAnOwnershipCheckAndOneQuery() throws Exception {
+		mockMvc.perform(get("/api/tasks/project/{projectId}", project.getId()).header("Authorization", bearer))
+				.andExpect(status().isOk())
+				.andExpect(maxStatements(3));
+	}
+
+	@Test
+	void unchangedTimeEntryListAnswersNotModifiedWithOnlyTheVersionCheck() throws Exception {
+		String eTag = mockMvc.perform(get("/api/time-entries").header("Authorization", bearer))
+				.andExpect(status().isOk())
+				.andExpect(header().exists("ETag"))
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/api/time-entries").header("Authorization", bearer).header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(maxStatements(1));
+	}
+
+	@Test
+	void changedTimeEntryListGetsANewETag() throws Exception {
+		String eTag = mockMvc.perform(get("/api/time-entries").header("Authorization", bearer))
+				.andReturn().getResponse().getHeader("ETag");
+
+		TimeEntry entry = entityManager.createQuery("SELECT te FROM TimeEntry te WHERE te.user.id = :userId", TimeEntry.class)
+				.setParameter("userId", user.getId())
+				.setMaxResults(1)
+				.getSingleResult();
+		entry.setCost(new BigDecimal("12.00"));
+		entityManager.flush();
+
+		mockMvc.perform(get("/api/time-entries").header("Authorization", bearer).header("If-None-Match", eTag))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", not(eTag)));
+	}
+
+	@Test
+	void conditionalGetOfAnotherUsersListIsNotFound() throws Exception {
+		User other = persistUser(entityManager, "budget-other@timetracker.test");
+		Project otherProject = persistProject(entityManager, other, "Other project");
+		Task otherTask = persistTask(entityManager, otherProject);
+		entityManager.flush();
+
+		// The ETag of an empty list, which is what someone else's list reads as for this user
+		String emptyETag = "\"0-0\"";
+		mockMvc.perform(get("/api/time-entries/task/{taskId}", otherTask.getId()).header("Authorization", bearer).header("If-None-Match", emptyETag))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/tasks/project/{projectId}", otherProject.getId()).header("Authorization", bearer).header("If-None-Match", emptyETag))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void reportIsOneStatement() throws Exception {
+		mockMvc.perform(get("/api/reports/time")
+						.param("startDate", "2025-01-01")
+						.param("endDate", "2025-01-31")
+						.header("Authorization", bearer))
+				.andExpect(status().isOk())
+				.andExpect(maxStatements(1));
+	}
+
+	@Test
+	void serviceCallsCanBeCappedDirectly() throws Exception {
+		PageResponse<TimeEntryResponse> page = assertMaxStatements(1, () -> timeEntryService.getMyTimeEntries(user.getId(), null, 50));
+
+		assertThat(page.getItems()).hasSize(ENTRIES);
+	}
+}
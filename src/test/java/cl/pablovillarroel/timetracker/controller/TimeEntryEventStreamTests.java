@@ -0,0 +1,79 @@
+package cl.pablovillarroel.timetracker.controller;
+
+import cl.pablovillarroel.timetracker.config.JwtUtil;
+import cl.pablovillarroel.timetracker.model.User;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static cl.pablovillarroel.timetracker.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Not @Transactional: a test transaction would itself hold the connection this test checks is released. Scheduled
+// jobs are off so that nothing else borrows from the pool while it is inspected.
+@SpringBootTest(properties = "scheduling.enabled=false")
+@AutoConfigureMockMvc
+class TimeEntryEventStreamTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user = new TransactionTemplate(transactionManager)
+				.execute(status -> persistUser(entityManager, "event-stream@timetracker.test"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+	}
+
+	@Test
+	void openStreamDoesNotHoldAPooledConnection() throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/time-entries/events")
+						.header("Authorization", "Bearer " + jwtUtil.generateToken(user.getId(), user.getEmail())))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		assertThat(activeConnections()).isZero();
+
+		result.getRequest().getAsyncContext().complete();
+	}
+
+	private int activeConnections() throws SQLException {
+		return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+	}
+}
@@ -0,0 +1,152 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.StartTimeEntryRequest;
+import cl.pablovillarroel.timetracker.exception.BusinessException;
+import cl.pablovillarroel.timetracker.model.Project;
+import cl.pablovillarroel.timetracker.model.Task;
+import cl.pablovillarroel.timetracker.model.User;
+import cl.pablovillarroel.timetracker.repository.ProjectRepository;
+import cl.pablovillarroel.timetracker.repository.TaskRepository;
+import cl.pablovillarroel.timetracker.repository.TimeEntryRepository;
+import cl.pablovillarroel.timetracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional on purpose: every worker thread must commit on its own
+ * connection for the partial unique index to be exercised.
+ */
+@SpringBootTest
+class ActiveTimeEntryConcurrencyTests {
+
+	private static final int THREADS = 16;
+
+	private static final int ROUNDS = 10;
+
+	@Autowired
+	private TimeEntryService timeEntryService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TimeEntryRepository timeEntryRepository;
+
+	private User user;
+
+	private Task task;
+
+	@BeforeEach
+	void setUp() {
+		user = userRepository.save(User.builder()
+				.email("concurrency@timetracker.test")
+				.password("not-a-real-hash")
+				.name("Concurrency user")
+				.build());
+		Project project = projectRepository.save(Project.builder()
+				.user(user)
+				.name("Concurrency project")
+				.hourlyCost(new BigDecimal("60.00"))
+				.build());
+		task = taskRepository.save(Task.builder()
+				.project(project)
+				.name("Concurrency task")
+				.build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		userRepository.deleteById(user.getId());
+	}
+
+	@Test
+	void concurrentStartsCreateExactlyOneActiveEntry() throws Exception {
+		StartTimeEntryRequest request = new StartTimeEntryRequest();
+		request.setTaskId(task.getId());
+
+		for (int round = 0; round < ROUNDS; round++) {
+			List<Boolean> outcomes = runConcurrently(() -> {
+				try {
+					timeEntryService.startTimeEntry(user.getId(), request);
+					return true;
+				} catch (BusinessException ex) {
+					assertThat(ex.getCode()).isEqualTo("ACTIVE_TIME_ENTRY_EXISTS");
+					return false;
+				}
+			});
+
+			assertThat(outcomes).containsOnlyOnce(true);
+			assertThat(timeEntryRepository.existsByUser_IdAndEndTimeIsNull(user.getId())).isTrue();
+
+			timeEntryService.stopTimeEntry(user.getId());
+		}
+	}
+
+	@Test
+	void concurrentStopsCloseTheActiveEntryOnce() throws Exception {
+		StartTimeEntryRequest request = new StartTimeEntryRequest();
+		request.setTaskId(task.getId());
+		timeEntryService.startTimeEntry(user.getId(), request);
+
+		List<Boolean> outcomes = runConcurrently(() -> {
+			try {
+				timeEntryService.stopTimeEntry(user.getId());
+				return true;
+			} catch (BusinessException ex) {
+				assertThat(ex.getCode()).isEqualTo("NO_ACTIVE_TIME_ENTRY");
+				return false;
+			}
+		});
+
+		assertThat(outcomes).containsOnlyOnce(true);
+		assertThat(timeEntryRepository.existsByUser_IdAndEndTimeIsNull(user.getId())).isFalse();
+	}
+
+	private List<Boolean> runConcurrently(Callable<Boolean> action) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch ready = new CountDownLatch(THREADS);
+		CountDownLatch go = new CountDownLatch(1);
+		try {
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit(() -> {
+					ready.countDown();
+					go.await();
+					return action.call();
+				}));
+			}
+
+			ready.await();
+			go.countDown();
+
+			List<Boolean> outcomes = new ArrayList<>();
+			for (Future<Boolean> future : futures) {
+				outcomes.add(future.get(30, TimeUnit.SECONDS));
+			}
+			return outcomes;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
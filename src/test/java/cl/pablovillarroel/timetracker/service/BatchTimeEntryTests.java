@@ -0,0 +1,78 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.BatchItemStatus;
+import cl.pablovillarroel.timetracker.dto.BatchTimeEntryItemResult;
+import cl.pablovillarroel.timetracker.dto.BatchTimeEntryRequest;
+import cl.pablovillarroel.timetracker.dto.BatchTimeEntryResponse;
+import cl.pablovillarroel.timetracker.dto.TimeEntryRequest;
+import cl.pablovillarroel.timetracker.model.Task;
+import cl.pablovillarroel.timetracker.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static cl.pablovillarroel.timetracker.support.TestData.persistProject;
+import static cl.pablovillarroel.timetracker.support.TestData.persistTask;
+import static cl.pablovillarroel.timetracker.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class BatchTimeEntryTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TimeEntryService timeEntryService;
+
+	private User user;
+
+	private Task task;
+
+	@BeforeEach
+	void setUp() {
+		user = persistUser(entityManager, "batch@timetracker.test");
+		task = persistTask(entityManager, persistProject(entityManager, user, "Batch project"));
+		entityManager.flush();
+	}
+
+	@Test
+	void invalidItemsAreRejectedWithoutFailingTheBatch() {
+		BatchTimeEntryResponse response = timeEntryService.createTimeEntries(user.getId(), BatchTimeEntryRequest.builder()
+				.entries(List.of(
+						item(task.getId(), START, new BigDecimal("10.00")),
+						item(task.getId(), START.plusHours(1), new BigDecimal("-5.00")),
+						item(task.getId(), START.plusHours(2), null),
+						item(task.getId() + 1_000_000, START.plusHours(3), BigDecimal.ONE)))
+				.build());
+
+		assertThat(response.getCreated()).isEqualTo(2);
+		assertThat(response.getRejected()).isEqualTo(2);
+		assertThat(response.getResults())
+				.extracting(BatchTimeEntryItemResult::getStatus)
+				.containsExactly(BatchItemStatus.CREATED, BatchItemStatus.REJECTED, BatchItemStatus.CREATED, BatchItemStatus.REJECTED);
+		assertThat(response.getResults().get(1).getCode()).isEqualTo("VALIDATION_ERROR");
+		assertThat(response.getResults().get(1).getMessage()).startsWith("cost: ");
+		assertThat(response.getResults().get(3).getCode()).isEqualTo("TASK_NOT_FOUND");
+	}
+
+	private static TimeEntryRequest item(Long taskId, LocalDateTime start, BigDecimal cost) {
+		return TimeEntryRequest.builder()
+				.taskId(taskId)
+				.startTime(start)
+				.endTime(start.plusMinutes(30))
+				.duration(1800L)
+				.cost(cost)
+				.build();
+	}
+}
@@ -0,0 +1,72 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.ProjectRequest;
+import cl.pablovillarroel.timetracker.dto.ProjectResponse;
+import cl.pablovillarroel.timetracker.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static cl.pablovillarroel.timetracker.support.TestData.persistProject;
+import static cl.pablovillarroel.timetracker.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the catalog is only invalidated once a change really commits
+@SpringBootTest
+class CatalogCacheInvalidationTests {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private CatalogCache catalogCache;
+
+	@Autowired
+	private ProjectService projectService;
+
+	private TransactionTemplate transactionTemplate;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		user = transactionTemplate.execute(status -> {
+			User created = persistUser(entityManager, "catalog-invalidation@timetracker.test");
+			persistProject(entityManager, created, "Committed project");
+			return created;
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+	}
+
+	@Test
+	void aChangeInvalidatesTheCatalogOnlyOnceItCommits() {
+		assertThat(catalogCache.findProjects(user.getId(), 0L, Limit.of(10))).hasSize(1);
+
+		ProjectResponse added = transactionTemplate.execute(status -> {
+			ProjectResponse response = projectService.createProject(user.getId(), ProjectRequest.builder().name("Added project").build());
+			assertThat(catalogCache.ownsProject(user.getId(), response.getId())).isFalse();
+			return response;
+		});
+
+		assertThat(catalogCache.ownsProject(user.getId(), added.getId())).isTrue();
+		assertThat(catalogCache.projectsVersion(user.getId()).count()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,91 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.dto.CollectionVersion;
+import cl.pablovillarroel.timetracker.model.Project;
+import cl.pablovillarroel.timetracker.model.Task;
+import cl.pablovillarroel.timetracker.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import static cl.pablovillarroel.timetracker.support.TestData.persistProject;
+import static cl.pablovillarroel.timetracker.support.TestData.persistTask;
+import static cl.pablovillarroel.timetracker.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class CatalogCacheTests {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CatalogCache catalogCache;
+
+	private Statistics statistics;
+
+	private User owner;
+
+	private User other;
+
+	private Project ownerProject;
+
+	private Task ownerTask;
+
+	@BeforeEach
+	void setUp() {
+		owner = persistUser(entityManager, "catalog-owner@timetracker.test");
+		other = persistUser(entityManager, "catalog-other@timetracker.test");
+		ownerProject = persistProject(entityManager, owner, "Owner project");
+		ownerTask = persistTask(entityManager, ownerProject);
+		persistProject(entityManager, owner, "Project without tasks");
+
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void catalogIsLoadedInOneStatementAndThenServedFromMemory() {
+		assertThat(catalogCache.ownsTask(owner.getId(), ownerTask.getId())).isTrue();
+		assertThat(catalogCache.findProjects(owner.getId(), 0L, Limit.of(10))).hasSize(2);
+		assertThat(catalogCache.findProject(owner.getId(), ownerProject.getId()))
+				.hasValueSatisfying(project -> assertThat(project.hourlyCost()).isEqualByComparingTo("25.00"));
+		assertThat(catalogCache.findTasks(owner.getId(), ownerProject.getId(), 0L, Limit.of(10)))
+				.extracting(CatalogCache.CachedTask::id)
+				.containsExactly(ownerTask.getId());
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void otherUsersDoNotOwnTheCatalog() {
+		assertThat(catalogCache.ownsProject(other.getId(), ownerProject.getId())).isFalse();
+		assertThat(catalogCache.ownsTask(other.getId(), ownerTask.getId())).isFalse();
+		assertThat(catalogCache.findTask(other.getId(), ownerTask.getId())).isEmpty();
+	}
+
+	@Test
+	void listVersionsComeFromTheCachedCatalog() {
+		CollectionVersion projects = catalogCache.projectsVersion(owner.getId());
+		CollectionVersion tasks = catalogCache.tasksVersion(owner.getId(), ownerProject.getId());
+
+		assertThat(projects.count()).isEqualTo(2);
+		assertThat(tasks.count()).isEqualTo(1);
+		assertThat(catalogCache.tasksVersion(other.getId(), ownerProject.getId()).count()).isZero();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,132 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.exception.ResourceNotFoundException;
+import cl.pablovillarroel.timetracker.model.Project;
+import cl.pablovillarroel.timetracker.model.Task;
+import cl.pablovillarroel.timetracker.model.TimeEntry;
+import cl.pablovillarroel.timetracker.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static cl.pablovillarroel.timetracker.support.TestData.persistProject;
+import static cl.pablovillarroel.timetracker.support.TestData.persistTask;
+import static cl.pablovillarroel.timetracker.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Covers the owner-scoped queries the catalog cache falls back to when it is turned off
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"catalog-cache.enabled=false"
+})
+@Transactional
+class OwnerScopedQueriesTests {
+
+	private static final int ENTRIES_PER_USER = 20;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TimeEntryService timeEntryService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private ProjectService projectService;
+
+	private Statistics statistics;
+
+	private User owner;
+
+	private Project ownerProject;
+
+	private Task ownerTask;
+
+	@BeforeEach
+	void setUp() {
+		owner = persistUser(entityManager, "owner@timetracker.test");
+		ownerProject = persistProject(entityManager, owner, "Seed project");
+		ownerTask = persistTask(entityManager, ownerProject);
+		seedTimeEntries(owner, ownerTask);
+
+		User other = persistUser(entityManager, "other@timetracker.test");
+		Task otherTask = persistTask(entityManager, persistProject(entityManager, other, "Seed project"));
+		seedTimeEntries(other, otherTask);
+
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void getMyTimeEntriesOnlyLoadsTheOwnersRows() {
+		assertThat(timeEntryService.getMyTimeEntries(owner.getId(), null, 50).getItems()).hasSize(ENTRIES_PER_USER);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isEqualTo(ENTRIES_PER_USER);
+	}
+
+	@Test
+	void getTimeEntriesByTaskIdOnlyLoadsTheTasksRows() {
+		assertThat(timeEntryService.getTimeEntriesByTaskId(ownerTask.getId(), owner.getId(), null, 50).getItems()).hasSize(ENTRIES_PER_USER);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isEqualTo(ENTRIES_PER_USER);
+	}
+
+	@Test
+	void getTasksByProjectIdOnlyLoadsTheProjectsTasks() {
+		assertThat(taskService.getTasksByProjectId(ownerProject.getId(), owner.getId(), null, 50).getItems()).hasSize(1);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+	}
+
+	@Test
+	void ownershipChecksAreSingleQueries() {
+		assertThat(taskService.getTaskById(ownerTask.getId(), owner.getId()).getId()).isEqualTo(ownerTask.getId());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		Long otherUserId = owner.getId() + 1;
+		assertThatThrownBy(() -> taskService.getTaskById(ownerTask.getId(), otherUserId))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void getProjectsByUserIdOnlyLoadsTheUsersProjects() {
+		assertThat(projectService.getProjectsByUserId(owner.getId(), null, 50).getItems()).hasSize(1);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+	}
+
+	private void seedTimeEntries(User user, Task task) {
+		LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+		for (int i = 0; i < ENTRIES_PER_USER; i++) {
+			entityManager.persist(TimeEntry.builder()
+					.user(user)
+					.task(task)
+					.startTime(start.plusHours(i))
+					.endTime(start.plusHours(i).plusMinutes(30))
+					.duration(1800L)
+					.build());
+		}
+	}
+}
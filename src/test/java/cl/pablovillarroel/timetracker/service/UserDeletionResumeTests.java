@@ -0,0 +1,91 @@
+package cl.pablovillarroel.timetracker.service;
+
+import cl.pablovillarroel.timetracker.model.User;
+import cl.pablovillarroel.timetracker.repository.PendingUserDeletionRepository;
+import cl.pablovillarroel.timetracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static cl.pablovillarroel.timetracker.support.TestData.persistProject;
+import static cl.pablovillarroel.timetracker.support.TestData.persistTask;
+import static cl.pablovillarroel.timetracker.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the resume job claims and deletes in transactions of its own
+@SpringBootTest
+class UserDeletionResumeTests {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserDeletionService userDeletionService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private PendingUserDeletionRepository pendingUserDeletionRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user = new TransactionTemplate(transactionManager).execute(status -> {
+			User created = persistUser(entityManager, "deletion-resume@timetracker.test");
+			persistTask(entityManager, persistProject(entityManager, created, "Resume project"));
+			return created;
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+	}
+
+	@Test
+	void aStalledDeletionIsFinishedByTheResumeJob() throws InterruptedException {
+		assertThat(userDeletionService.disable(user.getId())).isTrue();
+		assertThat(pendingUserDeletionRepository.existsById(user.getId())).isTrue();
+
+		// As if the node running the deletion had stopped an hour ago
+		jdbcTemplate.update("UPDATE pending_user_deletions SET last_progress_at = last_progress_at - INTERVAL '1 hour' WHERE user_id = ?", user.getId());
+		userService.resumeStalledDeletions();
+
+		awaitDeleted(user.getId());
+		assertThat(pendingUserDeletionRepository.existsById(user.getId())).isFalse();
+	}
+
+	@Test
+	void aDeletionStillMakingProgressIsLeftToItsWorker() {
+		userDeletionService.disable(user.getId());
+
+		assertThat(userDeletionService.claimStalledDeletions()).doesNotContain(user.getId());
+		assertThat(userRepository.existsById(user.getId())).isTrue();
+	}
+
+	// The resumed deletion runs on the async executor
+	private void awaitDeleted(Long userId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (userRepository.existsById(userId) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(userRepository.existsById(userId)).isFalse();
+	}
+}
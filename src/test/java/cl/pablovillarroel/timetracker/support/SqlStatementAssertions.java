@@ -0,0 +1,48 @@
+package cl.pablovillarroel.timetracker.support;
+
+import cl.pablovillarroel.timetracker.config.SqlRequestStats;
+import cl.pablovillarroel.timetracker.config.SqlStatsFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Caps the SQL statements issued by a piece of code or an endpoint, so an accidental N+1 fails the build.
+ */
+public final class SqlStatementAssertions {
+
+	private SqlStatementAssertions() {
+	}
+
+	/**
+	 * Runs the action on the current thread and fails when it issues more than {@code max} statements.
+	 */
+	public static <T> T assertMaxStatements(int max, Callable<T> action) throws Exception {
+		SqlRequestStats stats = SqlRequestStats.start();
+		T result;
+		try {
+			result = action.call();
+		} finally {
+			SqlRequestStats.stop();
+		}
+
+		assertThat(stats.getStatementCount())
+				.as("SQL statements issued, most repeated: %s", stats.getMostRepeatedStatement().orElse(null))
+				.isLessThanOrEqualTo(max);
+		return result;
+	}
+
+	/**
+	 * MockMvc matcher failing when the request issued more than {@code max} statements, read from the
+	 * {@value SqlStatsFilter#COUNT_HEADER} response header.
+	 */
+	public static ResultMatcher maxStatements(int max) {
+		return result -> {
+			String count = result.getResponse().getHeader(SqlStatsFilter.COUNT_HEADER);
+			assertThat(count).as("%s header", SqlStatsFilter.COUNT_HEADER).isNotNull();
+			assertThat(Integer.parseInt(count)).as("SQL statements issued by the request").isLessThanOrEqualTo(max);
+		};
+	}
+}
@@ -0,0 +1,46 @@
+package cl.pablovillarroel.timetracker.support;
+
+import cl.pablovillarroel.timetracker.model.Project;
+import cl.pablovillarroel.timetracker.model.Task;
+import cl.pablovillarroel.timetracker.model.User;
+import jakarta.persistence.EntityManager;
+
+import java.math.BigDecimal;
+
+/**
+ * Persists the minimal users, projects and tasks tests build their fixtures from.
+ */
+public final class TestData {
+
+	private TestData() {
+	}
+
+	public static User persistUser(EntityManager entityManager, String email) {
+		User user = User.builder()
+				.email(email)
+				.password("not-a-real-hash")
+				.name("Seed user")
+				.build();
+		entityManager.persist(user);
+		return user;
+	}
+
+	public static Project persistProject(EntityManager entityManager, User user, String name) {
+		Project project = Project.builder()
+				.user(user)
+				.name(name)
+				.hourlyCost(new BigDecimal("25.00"))
+				.build();
+		entityManager.persist(project);
+		return project;
+	}
+
+	public static Task persistTask(EntityManager entityManager, Project project) {
+		Task task = Task.builder()
+				.project(project)
+				.name("Seed task")
+				.build();
+		entityManager.persist(task);
+		return task;
+	}
+}